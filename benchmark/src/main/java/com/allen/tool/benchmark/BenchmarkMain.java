@@ -0,0 +1,42 @@
+package com.allen.tool.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基准测试入口，参数与org.openjdk.jmh.Main一致<br/>
+ * 未指定-rf时默认以JSON格式输出结果到jmh-result.json，便于不同版本之间对比
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class BenchmarkMain {
+
+    /**
+     * 默认的结果文件
+     */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * 禁止实例化
+     */
+    private BenchmarkMain() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+            if (!arguments.contains("-rff")) {
+                arguments.add("-rff");
+                arguments.add(DEFAULT_RESULT_FILE);
+            }
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
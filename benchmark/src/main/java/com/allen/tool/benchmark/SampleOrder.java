@@ -0,0 +1,239 @@
+package com.allen.tool.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基准测试使用的订单样本，包含常见的基本类型、日期、嵌套对象及集合属性
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class SampleOrder {
+
+    private Long id;
+
+    private String orderNo;
+
+    private BigDecimal amount;
+
+    private Integer status;
+
+    private LocalDateTime createTime;
+
+    private Date updateTime;
+
+    private Customer customer;
+
+    private List<Item> items;
+
+    /**
+     * 创建订单样本
+     *
+     * @param itemCount 订单明细数量
+     * @return 订单样本
+     */
+    public static SampleOrder create(int itemCount) {
+        Address address = new Address();
+        address.setCity("上海");
+        address.setStreet("世纪大道100号");
+        Customer customer = new Customer();
+        customer.setName("张三");
+        customer.setMobile("13800138000");
+        customer.setAddress(address);
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setSkuCode("SKU" + (100000 + i));
+            item.setName("商品" + i);
+            item.setQuantity(i % 5 + 1);
+            item.setPrice(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            items.add(item);
+        }
+        SampleOrder order = new SampleOrder();
+        order.setId(1234567890123L);
+        order.setOrderNo("ORD20210514000001");
+        order.setAmount(new BigDecimal("1024.50"));
+        order.setStatus(1);
+        order.setCreateTime(LocalDateTime.of(2021, 5, 14, 10, 30, 0));
+        order.setUpdateTime(new Date(1620959400000L));
+        order.setCustomer(customer);
+        order.setItems(items);
+        return order;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * 下单客户
+     */
+    public static class Customer {
+
+        private String name;
+
+        private String mobile;
+
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMobile() {
+            return mobile;
+        }
+
+        public void setMobile(String mobile) {
+            this.mobile = mobile;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * 收货地址
+     */
+    public static class Address {
+
+        private String city;
+
+        private String street;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+    }
+
+    /**
+     * 订单明细
+     */
+    public static class Item {
+
+        private String skuCode;
+
+        private String name;
+
+        private int quantity;
+
+        private BigDecimal price;
+
+        public String getSkuCode() {
+            return skuCode;
+        }
+
+        public void setSkuCode(String skuCode) {
+            this.skuCode = skuCode;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+}
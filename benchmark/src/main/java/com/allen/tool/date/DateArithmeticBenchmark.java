@@ -0,0 +1,63 @@
+package com.allen.tool.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtil按时间戳计算日期的耗时，calendar开头的为通过DateUtil.toCalendar计算的对比
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateArithmeticBenchmark {
+
+    private long millis = 1620959400123L;
+
+    @Benchmark
+    public long truncateToDay() {
+        return DateUtil.truncateToDay(millis);
+    }
+
+    @Benchmark
+    public long calendarTruncateToDay() {
+        Calendar calendar = DateUtil.toCalendar(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long addMonths() {
+        return DateUtil.addMonths(millis, 1);
+    }
+
+    @Benchmark
+    public long calendarAddMonths() {
+        Calendar calendar = DateUtil.toCalendar(millis);
+        calendar.add(Calendar.MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long businessDaysBetween() {
+        return DateUtil.businessDaysBetween(millis, millis + 45 * 86_400_000L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.allen.tool.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 格式化当前时间的耗时，DateClock缓存的结果与每次调用DateUtil.toString的对比，8个线程同时调用
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class DateClockBenchmark {
+
+    @Benchmark
+    public String currentDateTime() {
+        return DateClock.currentDateTime();
+    }
+
+    @Benchmark
+    public String currentDateTimeMillis() {
+        return DateClock.currentDateTimeMillis();
+    }
+
+    @Benchmark
+    public String dateUtilToString() {
+        return DateUtil.toString(new Date(), "yyyy-MM-dd HH:mm:ss");
+    }
+}
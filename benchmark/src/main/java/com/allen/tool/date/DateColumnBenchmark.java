@@ -0,0 +1,85 @@
+package com.allen.tool.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量转换日期的耗时，loop为逐个元素调用DateUtil.toDate的基线，size为数组长度
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateColumnBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss"})
+    public String pattern;
+
+    private long[] millis;
+
+    private String[] dateStrs;
+
+    private List<String> dateList;
+
+    @Setup
+    public void setup() {
+        millis = new long[size];
+        for (int i = 0; i < size; i++) {
+            millis[i] = 1620959400000L + i * 60_000L;
+        }
+        dateStrs = DateUtil.toString(millis, pattern);
+        dateList = Arrays.asList(dateStrs);
+    }
+
+    @Benchmark
+    public long[] loop() throws ParseException {
+        long[] values = new long[dateStrs.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DateUtil.toDate(dateStrs[i], pattern).getTime();
+        }
+        return values;
+    }
+
+    @Benchmark
+    public long[] toMillis() throws ParseException {
+        return DateUtil.toMillis(dateStrs, pattern, false);
+    }
+
+    @Benchmark
+    public long[] toMillisParallel() throws ParseException {
+        return DateUtil.toMillis(dateStrs, pattern, true);
+    }
+
+    @Benchmark
+    public String[] millisToString() {
+        return DateUtil.toString(millis, pattern, false);
+    }
+
+    @Benchmark
+    public BitSet isValidDate() {
+        return DateUtil.isValidDate(dateList, pattern, false);
+    }
+}
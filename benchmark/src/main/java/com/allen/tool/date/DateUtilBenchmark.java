@@ -0,0 +1,68 @@
+package com.allen.tool.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtil.toDate及toString的耗时，yyyy-MM-dd HH:mm:ss及yyyy-MM-dd按固定格式处理，
+ * yyyyMMddHHmmss为使用DateTimeFormatter的对比；append向复用的StringBuilder追加
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+    @Param({"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd", "yyyyMMddHHmmss"})
+    public String pattern;
+
+    private final Date date = new Date(1620959400000L);
+
+    private String dateStr;
+
+    private final StringBuilder builder = new StringBuilder(64);
+
+    @Setup
+    public void setup() {
+        dateStr = DateUtil.toString(date, pattern);
+    }
+
+    @Benchmark
+    public Date toDate() throws ParseException {
+        return DateUtil.toDate(dateStr, pattern);
+    }
+
+    @Benchmark
+    public String dateToString() {
+        return DateUtil.toString(date, pattern);
+    }
+
+    @Benchmark
+    public long toMillis() throws ParseException {
+        return DateUtil.toMillis(dateStr, pattern);
+    }
+
+    @Benchmark
+    public int append() {
+        builder.setLength(0);
+        return DateUtil.append(builder, date.getTime(), pattern).length();
+    }
+}
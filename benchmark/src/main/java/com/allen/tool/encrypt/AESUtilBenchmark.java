@@ -0,0 +1,60 @@
+package com.allen.tool.encrypt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AESUtil加密及解密的耗时，length为明文长度
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AESUtilBenchmark {
+
+    private static final String AES_KEY = "0123456789abcdef";
+
+    private static final String AES_IV = "fedcba9876543210";
+
+    @Param({"32", "4096"})
+    public int length;
+
+    private String content;
+
+    private String encrypted;
+
+    @Setup
+    public void setup() {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'a');
+        content = new String(chars);
+        encrypted = AESUtil.encrypt(content, AES_KEY, AES_IV);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return AESUtil.encrypt(content, AES_KEY, AES_IV);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return AESUtil.decrypt(encrypted, AES_KEY, AES_IV);
+    }
+}
@@ -0,0 +1,113 @@
+package com.allen.tool.id;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 序列号空间饱和时UidKeyGenerator的吞吐量及CPU占用<br/>
+ * 多个线程争抢同一个生成器，每毫秒4096个序列号很快用尽，大部分时间都在等待下一毫秒；
+ * spin为原来的忙等实现，system为系统时钟加park退避，cached为CachedMillisClock加park退避，
+ * cpuNanos为每轮迭代所有线程消耗的CPU时间
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UidClockBenchmark {
+
+    @Param({"spin", "system", "cached"})
+    public String clock;
+
+    private UidKeyGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new UidKeyGenerator(createClock(clock));
+    }
+
+    @Benchmark
+    public long nextId(CpuCounters counters) {
+        return generator.nextId();
+    }
+
+    private static UidClock createClock(String name) {
+        switch (name) {
+            case "spin":
+                return new SpinClock();
+            case "system":
+                return UidClock.SYSTEM;
+            case "cached":
+                return CachedMillisClock.getInstance();
+            default:
+                throw new IllegalArgumentException("Unknown clock " + name);
+        }
+    }
+
+    /**
+     * 忙等的系统时钟，与引入UidClock之前的waitUntilNextTime行为一致
+     */
+    private static class SpinClock implements UidClock {
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long waitUntilAfter(long millis) {
+            long time = System.currentTimeMillis();
+            while (time <= millis) {
+                time = System.currentTimeMillis();
+            }
+            return time;
+        }
+    }
+
+    /**
+     * 每个线程在每轮迭代中消耗的CPU时间，结果中按所有线程求和
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters {
+
+        private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+        public long cpuNanos;
+
+        private long start;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            cpuNanos = 0;
+            start = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            cpuNanos = THREAD_MX_BEAN.getCurrentThreadCpuTime() - start;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.allen.tool.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UidKeyGenerator.generateKey在1、8、32个线程争抢同一个生成器时的吞吐量
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UidKeyGeneratorBenchmark {
+
+    private UidKeyGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new UidKeyGenerator();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Number generateKey1Thread() {
+        return generator.generateKey();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Number generateKey8Threads() {
+        return generator.generateKey();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Number generateKey32Threads() {
+        return generator.generateKey();
+    }
+}
@@ -0,0 +1,71 @@
+package com.allen.tool.json;
+
+import com.allen.tool.benchmark.SampleOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Json文本与Smile、CBOR二进制格式的编解码吞吐量及编码后大小的对比，itemCount为订单明细数量，
+ * 编码后的字节数在每组参数开始时输出
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"1", "100"})
+    public int itemCount;
+
+    private Codec codec;
+
+    private SampleOrder order;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        switch (format) {
+            case "smile":
+                codec = Codecs.smile();
+                break;
+            case "cbor":
+                codec = Codecs.cbor();
+                break;
+            default:
+                codec = Codecs.json();
+        }
+        order = SampleOrder.create(itemCount);
+        encoded = codec.object2Bytes(order);
+        System.out.println(format + " encoded size: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.object2Bytes(order);
+    }
+
+    @Benchmark
+    public SampleOrder decode() {
+        return codec.bytes2Object(encoded, SampleOrder.class);
+    }
+}
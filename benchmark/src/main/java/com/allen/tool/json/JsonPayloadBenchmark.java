@@ -0,0 +1,100 @@
+package com.allen.tool.json;
+
+import com.allen.tool.benchmark.SampleOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同大小的Json报文经过字符串中转与直接读写字节的对比，payloadSize为报文的近似字节数<br/>
+ * viaString先将字节解码为字符串再解析，或先序列化为字符串再编码为字节，是引入字节及流接口之前的做法；
+ * 分配及复制的减少需要配合gc profiler查看，如：java -jar benchmarks.jar JsonPayloadBenchmark -prof gc，
+ * 对比gc.alloc.rate.norm
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPayloadBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int payloadSize;
+
+    private SampleOrder order;
+
+    private byte[] bytes;
+
+    private ByteBuffer directBuffer;
+
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() {
+        int itemCount = 1;
+        order = SampleOrder.create(itemCount);
+        while (JsonUtil.object2JsonBytes(order).length < payloadSize) {
+            itemCount *= 2;
+            order = SampleOrder.create(itemCount);
+        }
+        bytes = JsonUtil.object2JsonBytes(order);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        out = new ByteArrayOutputStream(bytes.length * 2);
+    }
+
+    @Benchmark
+    public SampleOrder readViaString() {
+        return JsonUtil.json2Object(new String(bytes, StandardCharsets.UTF_8), SampleOrder.class);
+    }
+
+    @Benchmark
+    public SampleOrder readBytes() {
+        return JsonUtil.json2Object(bytes, SampleOrder.class);
+    }
+
+    @Benchmark
+    public SampleOrder readInputStream() {
+        return JsonUtil.json2Object(new ByteArrayInputStream(bytes), SampleOrder.class);
+    }
+
+    @Benchmark
+    public SampleOrder readDirectByteBuffer() {
+        return JsonUtil.json2Object(directBuffer, SampleOrder.class);
+    }
+
+    @Benchmark
+    public byte[] writeViaString() {
+        return JsonUtil.object2Json(order).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeBytes() {
+        return JsonUtil.object2JsonBytes(order);
+    }
+
+    @Benchmark
+    public int writeOutputStream() {
+        out.reset();
+        JsonUtil.object2Json(order, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.allen.tool.json;
+
+import com.allen.tool.benchmark.SampleOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtil序列化及反序列化的耗时，itemCount为订单明细数量；
+ * object2JsonIgnoreFields为忽略属性的序列化，属性名同时出现在订单、客户及明细中；
+ * json2List每次创建新的TypeReference实例，readerFor直接使用缓存的ObjectReader；
+ * extract通过路径提取客户所在城市，json2MapGet为先转换为Map再逐级读取的对比
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilBenchmark {
+
+    @Param({"1", "100"})
+    public int itemCount;
+
+    private SampleOrder order;
+
+    private String json;
+
+    private String listJson;
+
+    private ObjectReader reader;
+
+    private final List<String> ignoreFields = Arrays.asList("name", "mobile");
+
+    @Setup
+    public void setup() {
+        order = SampleOrder.create(itemCount);
+        json = JsonUtil.object2Json(order);
+        listJson = "[" + json + "," + json + "]";
+        reader = JsonUtil.readerFor(SampleOrder.class);
+    }
+
+    @Benchmark
+    public String object2Json() {
+        return JsonUtil.object2Json(order);
+    }
+
+    @Benchmark
+    public SampleOrder json2Object() {
+        return JsonUtil.json2Object(json, SampleOrder.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> json2Map() {
+        return JsonUtil.json2Map(json);
+    }
+
+    @Benchmark
+    public String object2JsonIgnoreFields() {
+        return JsonUtil.object2Json(order, ignoreFields);
+    }
+
+    @Benchmark
+    public List<SampleOrder> json2List() {
+        return JsonUtil.json2Object(listJson, new TypeReference<List<SampleOrder>>() {
+        });
+    }
+
+    @Benchmark
+    public SampleOrder readerFor() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public Object extract() {
+        return JsonUtil.extract(json, "$.customer.address.city");
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object json2MapGet() {
+        Map<String, Object> customer = (Map<String, Object>) JsonUtil.json2Map(json).get("customer");
+        return ((Map<String, Object>) customer.get("address")).get("city");
+    }
+}
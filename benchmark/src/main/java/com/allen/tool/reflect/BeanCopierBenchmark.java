@@ -0,0 +1,126 @@
+package com.allen.tool.reflect;
+
+import com.allen.tool.benchmark.SampleOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BeanCopier与原来基于ReflectUtil.getFieldValue/setFieldValue逐个属性复制的对比，direct为手写setter的基线，
+ * convert为属性类型不一致需要转换的情况
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanCopierBenchmark {
+
+    private static final String[] FIELDS = {"id", "orderNo", "amount", "status", "createTime", "updateTime",
+            "customer", "items"};
+
+    private SampleOrder source;
+
+    private BeanCopier<SampleOrder, SampleOrder> copier;
+
+    private BeanCopier<SampleOrder, OrderView> convertCopier;
+
+    @Setup
+    public void setup() {
+        source = SampleOrder.create(3);
+        copier = BeanCopier.create(SampleOrder.class, SampleOrder.class);
+        convertCopier = BeanCopier.create(SampleOrder.class, OrderView.class);
+    }
+
+    @Benchmark
+    public SampleOrder direct() {
+        SampleOrder target = new SampleOrder();
+        target.setId(source.getId());
+        target.setOrderNo(source.getOrderNo());
+        target.setAmount(source.getAmount());
+        target.setStatus(source.getStatus());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        target.setCustomer(source.getCustomer());
+        target.setItems(source.getItems());
+        return target;
+    }
+
+    @Benchmark
+    public SampleOrder reflect() {
+        SampleOrder target = new SampleOrder();
+        for (String field : FIELDS) {
+            ReflectUtil.setFieldValue(target, field, ReflectUtil.getFieldValue(source, field));
+        }
+        return target;
+    }
+
+    @Benchmark
+    public SampleOrder beanCopier() {
+        return copier.copy(source);
+    }
+
+    @Benchmark
+    public OrderView beanCopierConvert() {
+        return convertCopier.copy(source);
+    }
+
+    /**
+     * 订单视图，id、amount为字符串，status为long
+     */
+    public static class OrderView {
+
+        private String id;
+
+        private String orderNo;
+
+        private String amount;
+
+        private long status;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+
+        public void setOrderNo(String orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        public String getAmount() {
+            return amount;
+        }
+
+        public void setAmount(String amount) {
+            this.amount = amount;
+        }
+
+        public long getStatus() {
+            return status;
+        }
+
+        public void setStatus(long status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.allen.tool.reflect;
+
+import com.allen.tool.benchmark.SampleOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从对象列表中批量读取属性的耗时，loop为逐个元素调用ReflectUtil.invokeGetter的基线，size为列表长度
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectColumnBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<SampleOrder.Item> items;
+
+    private List<SampleOrder> orders;
+
+    @Setup
+    public void setup() {
+        items = SampleOrder.create(size).getItems();
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(SampleOrder.create(0));
+        }
+    }
+
+    @Benchmark
+    public long[] loop() {
+        long[] values = new long[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((Number) ReflectUtil.invokeGetter(items.get(i), "quantity")).longValue();
+        }
+        return values;
+    }
+
+    @Benchmark
+    public long[] getLongColumn() {
+        return ReflectUtil.getLongColumn(items, "quantity", false);
+    }
+
+    @Benchmark
+    public long[] getLongColumnParallel() {
+        return ReflectUtil.getLongColumn(items, "quantity", true);
+    }
+
+    @Benchmark
+    public List<String> getColumnNested() {
+        return ReflectUtil.getColumn(orders, "customer.address.city", String.class);
+    }
+}
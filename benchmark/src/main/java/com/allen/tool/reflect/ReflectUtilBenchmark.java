@@ -0,0 +1,112 @@
+package com.allen.tool.reflect;
+
+import com.allen.tool.benchmark.SampleOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReflectUtil.invokeGetter及invokeSetter读写单级及多级属性的耗时，direct为直接调用getter的基线，
+ * accessor为直接使用缓存的PropertyAccessor，不经过(类型, 属性路径)查找；
+ * getAccessibleField及getAccessibleMethod分别测试存在及不存在的成员；
+ * toMap、toArray及fromMap测试对象与Map之间的转换，toArray为不创建Map的数组模式
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectUtilBenchmark {
+
+    private SampleOrder order;
+
+    private PropertyAccessor accessor;
+
+    private Map<String, Object> orderMap;
+
+    @Setup
+    public void setup() {
+        order = SampleOrder.create(1);
+        accessor = PropertyAccessor.of(SampleOrder.class, "customer.address.city");
+        orderMap = ReflectUtil.toMap(order);
+    }
+
+    @Benchmark
+    public Object direct() {
+        return order.getCustomer().getAddress().getCity();
+    }
+
+    @Benchmark
+    public Object invokeGetter() {
+        return ReflectUtil.invokeGetter(order, "orderNo");
+    }
+
+    @Benchmark
+    public Object invokeGetterNested() {
+        return ReflectUtil.invokeGetter(order, "customer.address.city");
+    }
+
+    @Benchmark
+    public Object accessorNested() {
+        return accessor.get(order);
+    }
+
+    @Benchmark
+    public void invokeSetterNested() {
+        ReflectUtil.invokeSetter(order, "customer.address.city", "上海");
+    }
+
+    @Benchmark
+    public Object getAccessibleField() {
+        return ReflectUtil.getAccessibleField(order, "orderNo");
+    }
+
+    @Benchmark
+    public Object getAccessibleFieldMissing() {
+        return ReflectUtil.getAccessibleField(order, "missing");
+    }
+
+    @Benchmark
+    public Object getAccessibleMethod() {
+        return ReflectUtil.getAccessibleMethod(order, "setOrderNo", String.class);
+    }
+
+    @Benchmark
+    public Object getAccessibleMethodMissing() {
+        return ReflectUtil.getAccessibleMethod(order, "setOrderNo", Long.class);
+    }
+
+    @Benchmark
+    public Object toMap() {
+        return ReflectUtil.toMap(order);
+    }
+
+    @Benchmark
+    public Object toMapNested() {
+        return ReflectUtil.toMap(order, "orderNo", "amount", "customer.name", "customer.address.city");
+    }
+
+    @Benchmark
+    public Object toArray() {
+        return ReflectUtil.toArray(order);
+    }
+
+    @Benchmark
+    public Object fromMap() {
+        return ReflectUtil.fromMap(orderMap, SampleOrder.class);
+    }
+}
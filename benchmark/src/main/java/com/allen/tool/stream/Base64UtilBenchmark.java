@@ -0,0 +1,75 @@
+package com.allen.tool.stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64Util文件与Base64编码互转的耗时，size为文件字节数
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64UtilBenchmark {
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private File source;
+
+    private File target;
+
+    private String base64;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        source = File.createTempFile("base64-source", ".bin");
+        target = File.createTempFile("base64-target", ".bin");
+        Files.write(source.toPath(), data);
+        base64 = Base64Util.toBase64(source);
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+        target.delete();
+    }
+
+    @Benchmark
+    public String toBase64() {
+        return Base64Util.toBase64(source);
+    }
+
+    @Benchmark
+    public boolean toFile() {
+        return Base64Util.toFile(base64, target.getPath());
+    }
+
+    @Benchmark
+    public boolean roundTrip() {
+        return Base64Util.toFile(Base64Util.toBase64(source), target.getPath());
+    }
+}
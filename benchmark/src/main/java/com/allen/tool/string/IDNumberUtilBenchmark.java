@@ -0,0 +1,49 @@
+package com.allen.tool.string;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDNumberUtil.strongVerifyIdNumber校验18位、15位及非法身份证号的耗时
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IDNumberUtilBenchmark {
+
+    private String idNumber = "110101199003071233";
+
+    private String fifteenIdNumber = "110101900307123";
+
+    private String invalidIdNumber = "110101199003071234";
+
+    @Benchmark
+    public boolean strongVerifyIdNumber() {
+        return IDNumberUtil.strongVerifyIdNumber(idNumber);
+    }
+
+    @Benchmark
+    public boolean strongVerifyFifteenIdNumber() {
+        return IDNumberUtil.strongVerifyIdNumber(fifteenIdNumber);
+    }
+
+    @Benchmark
+    public boolean strongVerifyInvalidIdNumber() {
+        return IDNumberUtil.strongVerifyIdNumber(invalidIdNumber);
+    }
+}
@@ -0,0 +1,56 @@
+package com.allen.tool.string;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StringUtil.split及isNumeric的耗时
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilBenchmark {
+
+    private String path = "customer.address.city";
+
+    private String csv = "10001,10002,10003,10004,10005,10006,10007,10008,10009,10010";
+
+    private String number = "1620959400000";
+
+    private String notNumber = "16209594000x0";
+
+    @Benchmark
+    public String[] splitPath() {
+        return StringUtil.split(path, ".");
+    }
+
+    @Benchmark
+    public String[] splitCsv() {
+        return StringUtil.split(csv, ",");
+    }
+
+    @Benchmark
+    public boolean isNumeric() {
+        return StringUtil.isNumeric(number);
+    }
+
+    @Benchmark
+    public boolean isNotNumeric() {
+        return StringUtil.isNumeric(notNumber);
+    }
+}
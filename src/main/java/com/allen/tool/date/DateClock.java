@@ -0,0 +1,143 @@
+package com.allen.tool.date;
+
+/**
+ * 当前时间的格式化字符串，用于响应头、日志及审计记录等高频取当前时间的场景<br/>
+ * 按秒缓存yyyy-MM-dd HH:mm:ss及yyyy-MM-dd，按毫秒缓存yyyy-MM-dd HH:mm:ss.SSS，
+ * 只有时间进入下一秒(毫秒)时才重新格式化，结果通过volatile发布，同一秒内的调用只读取System.currentTimeMillis()；
+ * 时区与DateUtil一致
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class DateClock {
+
+    /**
+     * yyyy-MM-dd HH:mm:ss.SSS的长度
+     */
+    private static final int MILLIS_LENGTH = 23;
+
+    /**
+     * 按秒缓存的格式化结果
+     */
+    private static volatile SecondText secondText = new SecondText(Long.MIN_VALUE, null, null);
+
+    /**
+     * 按毫秒缓存的格式化结果
+     */
+    private static volatile MillisText millisText = new MillisText(Long.MIN_VALUE, null);
+
+    /**
+     * 禁止实例化
+     */
+    private DateClock() {
+
+    }
+
+    /**
+     * 当前时间戳，代替Calendar.getInstance().getTimeInMillis()及new Date().getTime()
+     *
+     * @return 时间戳，单位毫秒
+     */
+    public static long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * 当前时间距1970-01-01T00:00:00Z的秒数
+     *
+     * @return 时间戳，单位秒
+     */
+    public static long currentEpochSecond() {
+        return Math.floorDiv(System.currentTimeMillis(), 1000);
+    }
+
+    /**
+     * 当前时间，格式为yyyy-MM-dd HH:mm:ss
+     *
+     * @return 格式化后的当前时间
+     */
+    public static String currentDateTime() {
+        return secondText(Math.floorDiv(System.currentTimeMillis(), 1000)).dateTime;
+    }
+
+    /**
+     * 当前日期，格式为yyyy-MM-dd
+     *
+     * @return 格式化后的当前日期
+     */
+    public static String currentDate() {
+        return secondText(Math.floorDiv(System.currentTimeMillis(), 1000)).date;
+    }
+
+    /**
+     * 当前时间，格式为yyyy-MM-dd HH:mm:ss.SSS
+     *
+     * @return 格式化后的当前时间
+     */
+    public static String currentDateTimeMillis() {
+        long millis = System.currentTimeMillis();
+        MillisText cached = millisText;
+        if (cached.millis != millis) {
+            String dateTime = secondText(Math.floorDiv(millis, 1000)).dateTime;
+            char[] buffer = new char[MILLIS_LENGTH];
+            dateTime.getChars(0, FixedDateFormat.DATETIME_LENGTH, buffer, 0);
+            int milliOfSecond = (int) Math.floorMod(millis, 1000);
+            buffer[19] = '.';
+            buffer[20] = (char) ('0' + milliOfSecond / 100);
+            buffer[21] = (char) ('0' + milliOfSecond / 10 % 10);
+            buffer[22] = (char) ('0' + milliOfSecond % 10);
+            cached = new MillisText(millis, new String(buffer));
+            millisText = cached;
+        }
+        return cached.text;
+    }
+
+    /**
+     * 获取给定秒的格式化结果，与缓存的不是同一秒时重新格式化
+     */
+    private static SecondText secondText(long epochSecond) {
+        SecondText cached = secondText;
+        if (cached.epochSecond != epochSecond) {
+            long localSecond = epochSecond + DateUtil.ZONE_OFFSETS.getOffset(epochSecond);
+            char[] buffer = new char[FixedDateFormat.DATETIME_LENGTH];
+            FixedDateFormat.formatDateTime(localSecond, buffer);
+            cached = new SecondText(epochSecond, new String(buffer),
+                    new String(buffer, 0, FixedDateFormat.DATE_LENGTH));
+            secondText = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * 一秒内的格式化结果，不可变，整体通过volatile发布
+     */
+    private static final class SecondText {
+
+        private final long epochSecond;
+
+        private final String dateTime;
+
+        private final String date;
+
+        private SecondText(long epochSecond, String dateTime, String date) {
+            this.epochSecond = epochSecond;
+            this.dateTime = dateTime;
+            this.date = date;
+        }
+    }
+
+    /**
+     * 一毫秒内的格式化结果，不可变，整体通过volatile发布
+     */
+    private static final class MillisText {
+
+        private final long millis;
+
+        private final String text;
+
+        private MillisText(long millis, String text) {
+            this.millis = millis;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.allen.tool.date;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量转换日期，日期格式只查找一次，每个下标区间复用ParsePosition及字符数组，供DateUtil的批量方法使用<br/>
+ * 并行模式下按下标区间拆分到ForkJoinPool.commonPool()，长度不足PARALLEL_THRESHOLD的两倍时仍在当前线程执行
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class DateColumns {
+
+    /**
+     * 并行转换的最小长度，也是拆分后每个子任务的最小长度，为64的倍数
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * 没有解析失败的元素
+     */
+    static final int NO_ERROR = Integer.MAX_VALUE;
+
+    /**
+     * 禁止实例化
+     */
+    private DateColumns() {
+
+    }
+
+    /**
+     * 将日期字符串转换为时间戳，遇到不能解析的元素时停止
+     *
+     * @param dateStrs 日期字符串
+     * @param pattern  日期格式字符串
+     * @param millis   转换结果
+     * @param parallel 是否并行
+     * @return 第一个不能解析的元素下标，都能解析时返回NO_ERROR；并行时只保证是失败的元素之一
+     */
+    static int toMillis(String[] dateStrs, String pattern, long[] millis, boolean parallel) {
+        DateUtil.DateFormatters formatters = DateUtil.getFormatters(pattern);
+        AtomicInteger error = new AtomicInteger(NO_ERROR);
+        forEachRange(dateStrs.length, parallel, (from, to) -> {
+            ParsePosition position = new ParsePosition(0);
+            for (int i = from; i < to && error.get() == NO_ERROR; i++) {
+                String dateStr = dateStrs[i];
+                if (dateStr == null || dateStr.isEmpty()) {
+                    error.compareAndSet(NO_ERROR, i);
+                    return;
+                }
+                long localSecond = DateUtil.parseFixed(dateStr, pattern);
+                if (localSecond != FixedDateFormat.INVALID) {
+                    millis[i] = (localSecond - DateUtil.ZONE_OFFSETS.getOffsetOfLocal(localSecond)) * 1000;
+                    continue;
+                }
+                try {
+                    TemporalAccessor parsed = parse(formatters.formatter, dateStr, position);
+                    millis[i] = DateUtil.toZonedDateTime(parsed).toInstant().toEpochMilli();
+                } catch (DateTimeException e) {
+                    error.compareAndSet(NO_ERROR, i);
+                    return;
+                }
+            }
+        });
+        return error.get();
+    }
+
+    /**
+     * 将时间戳转换为日期字符串
+     *
+     * @param millis   时间戳
+     * @param pattern  日期格式字符串
+     * @param parallel 是否并行
+     * @return 日期字符串
+     */
+    static String[] toString(long[] millis, String pattern, boolean parallel) {
+        DateTimeFormatter formatter = DateUtil.getFormatters(pattern).formatter;
+        ZoneId zone = DateUtil.ZONE_OFFSETS.getZone();
+        String[] dateStrs = new String[millis.length];
+        forEachRange(millis.length, parallel, (from, to) -> {
+            char[] buffer = new char[FixedDateFormat.DATETIME_LENGTH];
+            for (int i = from; i < to; i++) {
+                int length = DateUtil.formatFixed(millis[i], pattern, buffer);
+                dateStrs[i] = length > 0 ? new String(buffer, 0, length)
+                        : formatter.format(Instant.ofEpochMilli(millis[i]).atZone(zone));
+            }
+        });
+        return dateStrs;
+    }
+
+    /**
+     * 校验日期字符串是否满足日期格式，规则同DateUtil.isValidDate
+     *
+     * @param dateStrs 日期字符串，元素为null时不满足
+     * @param pattern  日期格式字符串
+     * @param parallel 是否并行
+     * @return 满足日期格式的下标
+     */
+    static BitSet isValidDate(List<String> dateStrs, String pattern, boolean parallel) {
+        List<String> elements = dateStrs instanceof RandomAccess ? dateStrs
+                : Arrays.asList(dateStrs.toArray(new String[0]));
+        DateTimeFormatter formatter = DateUtil.getFormatters(pattern).strictFormatter;
+        // 子任务的区间都从64的倍数开始，各自写入不同的long，不需要同步
+        long[] words = new long[(elements.size() + 63) >>> 6];
+        forEachRange(elements.size(), parallel, (from, to) -> {
+            ParsePosition position = new ParsePosition(0);
+            for (int i = from; i < to; i++) {
+                String dateStr = elements.get(i);
+                if (dateStr != null && (DateUtil.parseFixed(dateStr, pattern) != FixedDateFormat.INVALID
+                        || isValid(formatter, dateStr, position))) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * 复用ParsePosition校验，与DateUtil.isValidDate一致，日期之后多余的字符被忽略
+     */
+    private static boolean isValid(DateTimeFormatter formatter, String dateStr, ParsePosition position) {
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        try {
+            formatter.parse(dateStr, position);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 复用ParsePosition解析整个字符串
+     *
+     * @throws DateTimeException 如果不能解析或有多余的字符
+     */
+    private static TemporalAccessor parse(DateTimeFormatter formatter, String text, ParsePosition position) {
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        TemporalAccessor parsed = formatter.parse(text, position);
+        if (position.getIndex() != text.length()) {
+            throw new DateTimeException("Text '" + text + "' has unparsed text at index " + position.getIndex());
+        }
+        return parsed;
+    }
+
+    /**
+     * 按下标区间处理，不同区间可能并行执行
+     */
+    private static void forEachRange(int size, boolean parallel, RangeConsumer consumer) {
+        if (size == 0) {
+            return;
+        }
+        if (!parallel || size < PARALLEL_THRESHOLD * 2) {
+            consumer.accept(0, size);
+        } else {
+            int chunk = Math.max(PARALLEL_THRESHOLD, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            ForkJoinPool.commonPool().invoke(new RangeAction(consumer, 0, size, chunk));
+        }
+    }
+
+    /**
+     * 处理下标区间[from, to)
+     */
+    @FunctionalInterface
+    private interface RangeConsumer {
+
+        void accept(int from, int to);
+    }
+
+    /**
+     * 按下标区间二分拆分的任务，拆分点为64的倍数
+     */
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeConsumer consumer;
+
+        private final int from;
+
+        private final int to;
+
+        private final int chunk;
+
+        private RangeAction(RangeConsumer consumer, int from, int to, int chunk) {
+            this.consumer = consumer;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                consumer.accept(from, to);
+                return;
+            }
+            int middle = ((from + to) >>> 1) & ~63;
+            invokeAll(new RangeAction(consumer, from, middle, chunk), new RangeAction(consumer, middle, to, chunk));
+        }
+    }
+}
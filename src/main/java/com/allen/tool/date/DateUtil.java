@@ -1,19 +1,38 @@
 package com.allen.tool.date;
 
 import com.allen.tool.string.StringUtil;
-import com.allen.tool.thread.ThreadPoolExecutorUtil;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalQueries;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 日期型工具类，包含所有日期格式相关的处理方法
+ * 日期型工具类，包含所有日期格式相关的处理方法<br/>
+ * 日期格式字符串按DateTimeFormatter的规则解析，常用的y、M、d、H、m、s、S、a、E、Z等字母与SimpleDateFormat一致；
+ * 各日期格式对应的DateTimeFormatter是不可变的，按日期格式缓存后由所有线程共用，没有线程级的状态；
+ * yyyy-MM-dd HH:mm:ss及yyyy-MM-dd直接按位置解析及格式化，不满足固定格式时再使用DateTimeFormatter。
+ * 时区为DateUtil加载时的系统默认时区
  *
  * @author allen
  * @since 1.0.0
@@ -35,13 +54,31 @@ public final class DateUtil {
      */
     public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 最多缓存的日期格式个数，超过后新的日期格式每次创建DateTimeFormatter
+     */
+    private static final int MAX_CACHED_PATTERNS = 256;
+
     /**
-     * 存放不同的日期模板格式的SimpleDateFormat对应的ThreadLocal的Map
+     * 日期格式字符串对应的DateTimeFormatter
      */
-    private static Map<String, ThreadLocal<SimpleDateFormat>> simpleDateFormatMap = new HashMap<String, ThreadLocal<SimpleDateFormat>>();
+    private static final Map<String, DateFormatters> FORMATTERS = new ConcurrentHashMap<>();
 
     /**
-     * 将给定格式的日期字符串转换为Date对象
+     * 系统默认时区的偏移量表
+     */
+    static final ZoneOffsetTable ZONE_OFFSETS = ZoneOffsetTable.of(ZoneId.systemDefault());
+
+    /**
+     * 将给定格式的日期字符串转换为Date对象<br/>
+     * 数字的位数不要求与日期格式一致，超出范围的日期按月末处理，如2020-02-30转换为2020-02-29；
+     * 日期格式中没有的字段，年默认为1970，月、日默认为1，时分秒默认为0，没有时区时使用默认时区
      *
      * @param dateStr 日期字符串
      * @param pattern 日期格式字符串
@@ -52,10 +89,106 @@ public final class DateUtil {
      * @date 2018年5月18日 下午8:08:30
      */
     public static Date toDate(String dateStr, String pattern) throws ParseException {
+        return new Date(toMillis(dateStr, pattern));
+    }
+
+    /**
+     * 将给定格式的日期字符串转换为时间戳，解析规则同toDate
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期格式字符串
+     * @return 时间戳，单位毫秒
+     * @throws IllegalArgumentException 如果日期字符串或日期格式字符串为空 ，或者日期格式字符串不合法
+     * @throws ParseException           如果不能解析日期字符串
+     */
+    public static long toMillis(String dateStr, String pattern) throws ParseException {
         if (StringUtil.isEmpty(dateStr) || StringUtil.isEmpty(pattern)) {
             throw new IllegalArgumentException("日期字符串及日期格式字符串不能为空");
         }
-        return getSimpleDateFormat(pattern).parse(dateStr);
+        long localSecond = parseFixed(dateStr, pattern);
+        if (localSecond != FixedDateFormat.INVALID) {
+            return (localSecond - ZONE_OFFSETS.getOffsetOfLocal(localSecond)) * 1000;
+        }
+        try {
+            return toZonedDateTime(getFormatters(pattern).formatter.parse(dateStr)).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw parseException(e, e.getErrorIndex());
+        } catch (DateTimeException e) {
+            throw parseException(e, 0);
+        }
+    }
+
+    /**
+     * 将给定格式的日期字符串批量转换为时间戳，解析规则同toDate，日期格式只查找一次
+     *
+     * @param dateStrs 日期字符串
+     * @param pattern  日期格式字符串
+     * @return 时间戳，单位毫秒，与日期字符串一一对应
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法，或者有日期字符串为空
+     * @throws ParseException           如果有日期字符串不能解析
+     */
+    public static long[] toMillis(String[] dateStrs, String pattern) throws ParseException {
+        return toMillis(dateStrs, pattern, false);
+    }
+
+    /**
+     * 将给定格式的日期字符串批量转换为时间戳，解析规则同toDate，日期格式只查找一次
+     *
+     * @param dateStrs 日期字符串
+     * @param pattern  日期格式字符串
+     * @param parallel 是否使用ForkJoinPool并行转换，数组较短时忽略
+     * @return 时间戳，单位毫秒，与日期字符串一一对应
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法，或者有日期字符串为空
+     * @throws ParseException           如果有日期字符串不能解析
+     */
+    public static long[] toMillis(String[] dateStrs, String pattern, boolean parallel) throws ParseException {
+        if (dateStrs == null || StringUtil.isEmpty(pattern)) {
+            throw new IllegalArgumentException("日期字符串及日期格式字符串不能为空");
+        }
+        long[] millis = new long[dateStrs.length];
+        int error = DateColumns.toMillis(dateStrs, pattern, millis, parallel);
+        if (error != DateColumns.NO_ERROR) {
+            // 单独转换失败的元素，得到与toMillis一致的异常
+            try {
+                toMillis(dateStrs[error], pattern);
+            } catch (ParseException e) {
+                ParseException exception = new ParseException("下标为" + error + "的日期字符串不能解析：" + e.getMessage(),
+                        e.getErrorOffset());
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * 将yyyy-MM-dd HH:mm:ss格式的字符串转换为LocalDateTime
+     *
+     * @param dateTimeStr 日期时间字符串
+     * @return LocalDateTime
+     * @throws DateTimeParseException 如果不能解析日期时间字符串
+     */
+    public static LocalDateTime toLocalDateTime(CharSequence dateTimeStr) {
+        long localSecond = FixedDateFormat.parseDateTime(dateTimeStr);
+        if (localSecond != FixedDateFormat.INVALID) {
+            return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        }
+        return LocalDateTime.parse(dateTimeStr, DATETIME_FORMATTER);
+    }
+
+    /**
+     * 将yyyy-MM-dd格式的字符串转换为LocalDate
+     *
+     * @param dateStr 日期字符串
+     * @return LocalDate
+     * @throws DateTimeParseException 如果不能解析日期字符串
+     */
+    public static LocalDate toLocalDate(CharSequence dateStr) {
+        long epochDay = FixedDateFormat.parseDate(dateStr);
+        if (epochDay != FixedDateFormat.INVALID) {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+        return LocalDate.parse(dateStr, DATE_FORMATTER);
     }
 
     /**
@@ -69,10 +202,79 @@ public final class DateUtil {
      * @date 2018年5月18日 下午8:08:30
      */
     public static String toString(Date date, String pattern) {
-        if (date == null || StringUtil.isEmpty(pattern)) {
+        if (date == null) {
+            throw new IllegalArgumentException("日期对象及日期格式字符串不能为空");
+        }
+        return toString(date.getTime(), pattern);
+    }
+
+    /**
+     * 将给定的时间戳转换为指定格式的日期字符串
+     *
+     * @param millis  时间戳，单位毫秒
+     * @param pattern 日期格式字符串
+     * @return 格式化后的日期字符串
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static String toString(long millis, String pattern) {
+        if (StringUtil.isEmpty(pattern)) {
+            throw new IllegalArgumentException("日期对象及日期格式字符串不能为空");
+        }
+        // 每次调用创建局部数组，不使用ThreadLocal复用，避免线程级的状态；需要避免分配时使用append
+        char[] buffer = new char[FixedDateFormat.DATETIME_LENGTH];
+        int length = formatFixed(millis, pattern, buffer);
+        if (length > 0) {
+            return new String(buffer, 0, length);
+        }
+        return getFormatters(pattern).formatter.format(Instant.ofEpochMilli(millis).atZone(ZONE_OFFSETS.getZone()));
+    }
+
+    /**
+     * 将时间戳批量转换为指定格式的日期字符串，日期格式只查找一次
+     *
+     * @param millis  时间戳，单位毫秒
+     * @param pattern 日期格式字符串
+     * @return 格式化后的日期字符串，与时间戳一一对应
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static String[] toString(long[] millis, String pattern) {
+        return toString(millis, pattern, false);
+    }
+
+    /**
+     * 将时间戳批量转换为指定格式的日期字符串，日期格式只查找一次
+     *
+     * @param millis   时间戳，单位毫秒
+     * @param pattern  日期格式字符串
+     * @param parallel 是否使用ForkJoinPool并行转换，数组较短时忽略
+     * @return 格式化后的日期字符串，与时间戳一一对应
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static String[] toString(long[] millis, String pattern, boolean parallel) {
+        if (millis == null || StringUtil.isEmpty(pattern)) {
             throw new IllegalArgumentException("日期对象及日期格式字符串不能为空");
         }
-        return getSimpleDateFormat(pattern).format(date);
+        return DateColumns.toString(millis, pattern, parallel);
+    }
+
+    /**
+     * 将给定的时间戳按指定格式追加到StringBuilder，拼接日志、报文时不需要创建中间的字符串
+     *
+     * @param builder 追加的StringBuilder
+     * @param millis  时间戳，单位毫秒
+     * @param pattern 日期格式字符串
+     * @return 传入的StringBuilder
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static StringBuilder append(StringBuilder builder, long millis, String pattern) {
+        if (StringUtil.isEmpty(pattern)) {
+            throw new IllegalArgumentException("日期对象及日期格式字符串不能为空");
+        }
+        if (formatFixed(millis, pattern, builder)) {
+            return builder;
+        }
+        getFormatters(pattern).formatter.formatTo(Instant.ofEpochMilli(millis).atZone(ZONE_OFFSETS.getZone()), builder);
+        return builder;
     }
 
     /**
@@ -98,50 +300,228 @@ public final class DateUtil {
     }
 
     /**
-     * 校验给定的字符串是否满足指定的日期格式
+     * 当天的开始时间，即本地时间00:00:00.000，代替Calendar清空时分秒<br/>
+     * 以下的日期计算都按时间戳直接计算，使用预先计算的时区偏移量表，不创建Calendar及其他对象；
+     * 计算结果的本地时间因夏令时切换不存在时按间隔向后调整，重复时取较早的时间，与ZonedDateTime.ofLocal一致
+     *
+     * @param millis 时间戳，单位毫秒
+     * @return 当天开始的时间戳
+     */
+    public static long truncateToDay(long millis) {
+        return toUtcMillis(Math.floorDiv(toLocalMillis(millis), MILLIS_PER_DAY) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 当前小时的开始时间，即本地时间的分、秒、毫秒为0
+     *
+     * @param millis 时间戳，单位毫秒
+     * @return 当前小时开始的时间戳
+     */
+    public static long truncateToHour(long millis) {
+        return toUtcMillis(Math.floorDiv(toLocalMillis(millis), MILLIS_PER_HOUR) * MILLIS_PER_HOUR);
+    }
+
+    /**
+     * 当月的开始时间，即本地时间当月1日00:00:00.000
+     *
+     * @param millis 时间戳，单位毫秒
+     * @return 当月开始的时间戳
+     */
+    public static long truncateToMonth(long millis) {
+        int yearMonthDay = FixedDateFormat.toYearMonthDay(Math.floorDiv(toLocalMillis(millis), MILLIS_PER_DAY));
+        long epochDay = FixedDateFormat.toEpochDay(FixedDateFormat.year(yearMonthDay),
+                FixedDateFormat.month(yearMonthDay), 1);
+        return toUtcMillis(epochDay * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 增加小时数，按实际经过的时间计算，与Calendar.add(Calendar.HOUR, hours)一致
+     *
+     * @param millis 时间戳，单位毫秒
+     * @param hours  小时数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addHours(long millis, int hours) {
+        return millis + hours * MILLIS_PER_HOUR;
+    }
+
+    /**
+     * 增加分钟数，按实际经过的时间计算
+     *
+     * @param millis  时间戳，单位毫秒
+     * @param minutes 分钟数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addMinutes(long millis, int minutes) {
+        return millis + minutes * MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 增加天数，本地时间的时分秒不变
+     *
+     * @param millis 时间戳，单位毫秒
+     * @param days   天数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addDays(long millis, int days) {
+        return toUtcMillis(toLocalMillis(millis) + days * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 增加月数，本地时间的日及时分秒不变，日超过目标月的天数时取月末，如01-31加1个月为02-28或02-29
+     *
+     * @param millis 时间戳，单位毫秒
+     * @param months 月数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addMonths(long millis, int months) {
+        long localMillis = toLocalMillis(millis);
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int yearMonthDay = FixedDateFormat.toYearMonthDay(epochDay);
+        long month = FixedDateFormat.year(yearMonthDay) * 12L + FixedDateFormat.month(yearMonthDay) - 1 + months;
+        int year = (int) Math.floorDiv(month, 12);
+        int monthOfYear = (int) Math.floorMod(month, 12) + 1;
+        int day = Math.min(FixedDateFormat.day(yearMonthDay), FixedDateFormat.lengthOfMonth(year, monthOfYear));
+        long newEpochDay = FixedDateFormat.toEpochDay(year, monthOfYear, day);
+        return toUtcMillis(localMillis + (newEpochDay - epochDay) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 增加年数，规则同addMonths，如闰年02-29加1年为02-28
+     *
+     * @param millis 时间戳，单位毫秒
+     * @param years  年数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addYears(long millis, int years) {
+        return addMonths(millis, years * 12);
+    }
+
+    /**
+     * 星期几，按ISO-8601从星期一到星期日为1至7，与DayOfWeek.getValue()一致，与Calendar.DAY_OF_WEEK不同
+     *
+     * @param millis 时间戳，单位毫秒
+     * @return 1至7
+     */
+    public static int getDayOfWeek(long millis) {
+        return dayOfWeek(Math.floorDiv(toLocalMillis(millis), MILLIS_PER_DAY));
+    }
+
+    /**
+     * 是否为工作日，只排除星期六及星期日，不考虑节假日
+     *
+     * @param millis 时间戳，单位毫秒
+     * @return true-是；false-否
+     */
+    public static boolean isBusinessDay(long millis) {
+        return getDayOfWeek(millis) <= 5;
+    }
+
+    /**
+     * 两个时间之间的工作日天数，包含开始当天，不包含结束当天，只排除星期六及星期日
+     *
+     * @param startMillis 开始时间戳，单位毫秒
+     * @param endMillis   结束时间戳，单位毫秒
+     * @return 工作日天数，开始晚于结束时为负数
+     */
+    public static long businessDaysBetween(long startMillis, long endMillis) {
+        long startDay = Math.floorDiv(toLocalMillis(startMillis), MILLIS_PER_DAY);
+        long endDay = Math.floorDiv(toLocalMillis(endMillis), MILLIS_PER_DAY);
+        if (startDay > endDay) {
+            return -businessDaysBetweenDays(endDay, startDay);
+        }
+        return businessDaysBetweenDays(startDay, endDay);
+    }
+
+    /**
+     * 增加工作日天数，本地时间的时分秒不变，只排除星期六及星期日；从星期六或星期日开始时，
+     * 向后计算从星期五开始，向前计算从星期一开始，如星期六加1个工作日为星期一
+     *
+     * @param millis 时间戳，单位毫秒
+     * @param days   工作日天数，可以为负数
+     * @return 计算后的时间戳
+     */
+    public static long addBusinessDays(long millis, int days) {
+        if (days == 0) {
+            return millis;
+        }
+        long localMillis = toLocalMillis(millis);
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int dayOfWeek = dayOfWeek(epochDay);
+        long day = epochDay;
+        if (dayOfWeek > 5) {
+            day += days > 0 ? 5 - dayOfWeek : 8 - dayOfWeek;
+        }
+        day += days / 5 * 7L;
+        int remaining = Math.abs(days % 5);
+        int step = days > 0 ? 1 : -1;
+        while (remaining > 0) {
+            day += step;
+            if (dayOfWeek(day) <= 5) {
+                remaining--;
+            }
+        }
+        return toUtcMillis(localMillis + (day - epochDay) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 校验给定的字符串是否满足指定的日期格式，日期必须存在，如2007-02-29不满足yyyy-MM-dd<br/>
+     * 与原来不宽松的SimpleDateFormat一致，数字的位数可以少于日期格式，如2020-8-8满足yyyy-MM-dd，日期之后多余的字符被忽略；
+     * dateStr为null时返回false，不再抛出NullPointerException
      *
      * @param dateStr 日期字符串
      * @param pattern 日期格式
      * @return true-满足；false-不满足
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
      * @author luoxuetong
      * @since 1.0
      */
     public static boolean isValidDate(String dateStr, String pattern) {
-        boolean convertSuccess = true;
-        // 指定日期格式为四位年/两位月份/两位日期，注意yyyy/MM/dd区分大小写；
-        SimpleDateFormat format = getSimpleDateFormat(pattern);
+        if (StringUtil.isEmpty(pattern)) {
+            throw new IllegalArgumentException("日期格式字符串不能为空");
+        }
+        if (dateStr == null) {
+            return false;
+        }
+        if (parseFixed(dateStr, pattern) != FixedDateFormat.INVALID) {
+            return true;
+        }
         try {
-            // 设置lenient为false.
-            // 否则SimpleDateFormat会比较宽松地验证日期，比如2007/02/29会被接受，并转换成2007/03/01
-            format.setLenient(false);
-            format.parse(dateStr);
-        } catch (ParseException e) {
-            // 如果throw java.text.ParseException或者NullPointerException，就说明格式不对
-            convertSuccess = false;
-        }
-        return convertSuccess;
-    }
-
-    public static void main(String[] args) {
-        String format2 = "yyyy-MM-dd HH:mm:ss";
-        for (int i = 0; i < 3; i++) {
-            String dateStr = "2020-08-08 20:12:00";
-            Runnable r = new Runnable() {
-                public void run() {
-                    try {
-                        Date date = toDate(dateStr, format2);
-                        System.out.println("test2-" + date);
-                    } catch (ParseException e) {
-                        // TODO Auto-generated catch block
-                        e.printStackTrace();
-                    }
-                }
-            };
-            ThreadPoolExecutor executor = ThreadPoolExecutorUtil.getExecutor("dateFormatterTest");
-            executor.execute(r);
+            getFormatters(pattern).strictFormatter.parse(dateStr, new ParsePosition(0));
+            return true;
+        } catch (DateTimeException e) {
+            return false;
         }
     }
 
+    /**
+     * 批量校验给定的字符串是否满足指定的日期格式，规则同isValidDate，日期格式只查找一次
+     *
+     * @param dateStrs 日期字符串
+     * @param pattern  日期格式
+     * @return 满足日期格式的元素下标
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static BitSet isValidDate(List<String> dateStrs, String pattern) {
+        return isValidDate(dateStrs, pattern, false);
+    }
+
+    /**
+     * 批量校验给定的字符串是否满足指定的日期格式，规则同isValidDate，日期格式只查找一次
+     *
+     * @param dateStrs 日期字符串
+     * @param pattern  日期格式
+     * @param parallel 是否使用ForkJoinPool并行校验，列表较短时忽略
+     * @return 满足日期格式的元素下标
+     * @throws IllegalArgumentException 如果日期格式字符串为空或不合法
+     */
+    public static BitSet isValidDate(List<String> dateStrs, String pattern, boolean parallel) {
+        if (dateStrs == null || StringUtil.isEmpty(pattern)) {
+            throw new IllegalArgumentException("日期字符串及日期格式字符串不能为空");
+        }
+        return DateColumns.isValidDate(dateStrs, pattern, parallel);
+    }
+
     /**
      * 禁止实例化
      */
@@ -150,31 +530,199 @@ public final class DateUtil {
     }
 
     /**
-     * 返回一个ThreadLocal的sdf,每个线程只会new一次sdf
+     * 时间戳对应的本地时间距1970-01-01T00:00:00的毫秒数
+     */
+    private static long toLocalMillis(long millis) {
+        return millis + ZONE_OFFSETS.getOffset(Math.floorDiv(millis, 1000)) * 1000L;
+    }
+
+    /**
+     * 本地时间距1970-01-01T00:00:00的毫秒数对应的时间戳
+     */
+    private static long toUtcMillis(long localMillis) {
+        return localMillis - ZONE_OFFSETS.getOffsetOfLocal(Math.floorDiv(localMillis, 1000)) * 1000L;
+    }
+
+    /**
+     * 星期几，1970-01-01为星期四
+     */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    /**
+     * [startDay, endDay)之间的工作日天数
+     */
+    private static long businessDaysBetweenDays(long startDay, long endDay) {
+        long days = endDay - startDay;
+        long count = days / 7 * 5;
+        int dayOfWeek = dayOfWeek(startDay);
+        for (long i = days % 7; i > 0; i--) {
+            if (dayOfWeek <= 5) {
+                count++;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return count;
+    }
+
+    /**
+     * 按固定格式解析，日期格式不是固定格式或字符串不满足固定格式时返回INVALID
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期格式字符串
+     * @return 本地时间距1970-01-01T00:00:00的秒数
+     */
+    static long parseFixed(String dateStr, String pattern) {
+        if (FixedDateFormat.DATETIME_PATTERN.equals(pattern)) {
+            return FixedDateFormat.parseDateTime(dateStr);
+        }
+        if (FixedDateFormat.DATE_PATTERN.equals(pattern)) {
+            long epochDay = FixedDateFormat.parseDate(dateStr);
+            return epochDay == FixedDateFormat.INVALID ? epochDay : epochDay * FixedDateFormat.SECONDS_PER_DAY;
+        }
+        return FixedDateFormat.INVALID;
+    }
+
+    /**
+     * 按固定格式写入buffer，日期格式不是固定格式或年份超出0001至9999时返回0
+     *
+     * @param millis  时间戳，单位毫秒
+     * @param pattern 日期格式字符串
+     * @param buffer  长度不小于19的字符数组
+     * @return 写入的字符个数
+     */
+    static int formatFixed(long millis, String pattern, char[] buffer) {
+        int length = fixedLength(pattern);
+        long localSecond = length == 0 ? FixedDateFormat.INVALID : toFormattableLocalSecond(millis);
+        if (localSecond == FixedDateFormat.INVALID) {
+            return 0;
+        }
+        if (length == FixedDateFormat.DATETIME_LENGTH) {
+            FixedDateFormat.formatDateTime(localSecond, buffer);
+        } else {
+            FixedDateFormat.formatDate(Math.floorDiv(localSecond, FixedDateFormat.SECONDS_PER_DAY), buffer);
+        }
+        return length;
+    }
+
+    /**
+     * 按固定格式直接追加到builder，不创建中间的字符数组，日期格式不是固定格式或年份超出0001至9999时不追加
+     *
+     * @param millis  时间戳，单位毫秒
+     * @param pattern 日期格式字符串
+     * @param builder 追加的StringBuilder
+     * @return 是否已追加
+     */
+    static boolean formatFixed(long millis, String pattern, StringBuilder builder) {
+        int length = fixedLength(pattern);
+        long localSecond = length == 0 ? FixedDateFormat.INVALID : toFormattableLocalSecond(millis);
+        if (localSecond == FixedDateFormat.INVALID) {
+            return false;
+        }
+        if (length == FixedDateFormat.DATETIME_LENGTH) {
+            FixedDateFormat.formatDateTime(localSecond, builder);
+        } else {
+            FixedDateFormat.formatDate(Math.floorDiv(localSecond, FixedDateFormat.SECONDS_PER_DAY), builder);
+        }
+        return true;
+    }
+
+    /**
+     * 固定格式的长度，不是固定格式时返回0
+     */
+    private static int fixedLength(String pattern) {
+        if (FixedDateFormat.DATETIME_PATTERN.equals(pattern)) {
+            return FixedDateFormat.DATETIME_LENGTH;
+        }
+        return FixedDateFormat.DATE_PATTERN.equals(pattern) ? FixedDateFormat.DATE_LENGTH : 0;
+    }
+
+    /**
+     * 时间戳对应的本地时间距1970-01-01T00:00:00的秒数，年份超出0001至9999时返回INVALID
+     */
+    private static long toFormattableLocalSecond(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        long localSecond = second + ZONE_OFFSETS.getOffset(second);
+        return FixedDateFormat.isFormattable(Math.floorDiv(localSecond, FixedDateFormat.SECONDS_PER_DAY))
+                ? localSecond : FixedDateFormat.INVALID;
+    }
+
+    /**
+     * 获取日期格式对应的DateTimeFormatter，缓存已满时每次创建
      *
-     * @param pattern
-     * @return SimpleDateFormat对象
+     * @param pattern 日期格式字符串
+     * @return DateTimeFormatter
+     * @throws IllegalArgumentException 如果日期格式字符串不合法
      */
-    private static SimpleDateFormat getSimpleDateFormat(final String pattern) {
-        ThreadLocal<SimpleDateFormat> threadLocal = simpleDateFormatMap.get(pattern);
-        // 此处的双重判断和同步是为了防止sdfMap这个单例被多次put重复的sdf
-        if (threadLocal == null) {
-            synchronized (DateUtil.class) {
-                threadLocal = simpleDateFormatMap.get(pattern);
-                if (threadLocal == null) {
-                    // 只有Map中还没有这个pattern的sdf才会生成新的sdf并放入map
-                    // 这里是关键,使用ThreadLocal<SimpleDateFormat>替代原来直接new SimpleDateFormat
-                    threadLocal = new ThreadLocal<SimpleDateFormat>() {
-                        @Override
-                        protected SimpleDateFormat initialValue() {
-                            return new SimpleDateFormat(pattern);
-                        }
-                    };
-                    simpleDateFormatMap.put(pattern, threadLocal);
+    static DateFormatters getFormatters(String pattern) {
+        DateFormatters formatters = FORMATTERS.get(pattern);
+        if (formatters == null) {
+            formatters = new DateFormatters(pattern);
+            if (FORMATTERS.size() < MAX_CACHED_PATTERNS) {
+                DateFormatters previous = FORMATTERS.putIfAbsent(pattern, formatters);
+                if (previous != null) {
+                    formatters = previous;
                 }
             }
         }
+        return formatters;
+    }
 
-        return threadLocal.get();
+    /**
+     * 将解析结果转换为ZonedDateTime，日期格式中没有的字段使用默认值
+     *
+     * @param parsed 解析结果
+     * @return ZonedDateTime
+     */
+    static ZonedDateTime toZonedDateTime(TemporalAccessor parsed) {
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            date = LocalDate.of(get(parsed, ChronoField.YEAR, 1970), get(parsed, ChronoField.MONTH_OF_YEAR, 1),
+                    get(parsed, ChronoField.DAY_OF_MONTH, 1));
+        }
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (time == null) {
+            int hour = parsed.isSupported(ChronoField.HOUR_OF_DAY) ? parsed.get(ChronoField.HOUR_OF_DAY)
+                    : get(parsed, ChronoField.HOUR_OF_AMPM, 0);
+            time = LocalTime.of(hour, get(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+                    get(parsed, ChronoField.SECOND_OF_MINUTE, 0), get(parsed, ChronoField.NANO_OF_SECOND, 0));
+        }
+        ZoneId zone = parsed.query(TemporalQueries.zone());
+        return date.atTime(time).atZone(zone == null ? ZONE_OFFSETS.getZone() : zone);
+    }
+
+    private static int get(TemporalAccessor parsed, TemporalField field, int defaultValue) {
+        return parsed.isSupported(field) ? parsed.get(field) : defaultValue;
+    }
+
+    private static ParseException parseException(DateTimeException cause, int errorOffset) {
+        ParseException e = new ParseException(cause.getMessage(), errorOffset);
+        e.initCause(cause);
+        return e;
+    }
+
+    /**
+     * 同一日期格式的两个DateTimeFormatter
+     */
+    static final class DateFormatters {
+
+        /**
+         * 用于格式化及toDate，数字位数及大小写宽松，解析结果按SMART规则处理
+         */
+        final DateTimeFormatter formatter;
+
+        /**
+         * 用于isValidDate，数字位数及大小写与formatter一样宽松，解析结果按STRICT规则校验；
+         * 只有yyyy时默认为公元，否则STRICT下无法确定年份
+         */
+        final DateTimeFormatter strictFormatter;
+
+        private DateFormatters(String pattern) {
+            this.formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
+                    .appendPattern(pattern).toFormatter();
+            this.strictFormatter = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
+                    .appendPattern(pattern).parseDefaulting(ChronoField.ERA, 1).toFormatter().withResolverStyle(ResolverStyle.STRICT);
+        }
     }
 }
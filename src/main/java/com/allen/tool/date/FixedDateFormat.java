@@ -0,0 +1,268 @@
+package com.allen.tool.date;
+
+/**
+ * yyyy-MM-dd HH:mm:ss及yyyy-MM-dd两种固定格式的解析及格式化，直接按位置读写字符，不经过DateTimeFormatter<br/>
+ * 只接受位数完全一致、日期存在的字符串，年份为0001至9999，其他情况返回INVALID，由调用方使用通用的DateTimeFormatter处理
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class FixedDateFormat {
+
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    static final String DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * yyyy-MM-dd
+     */
+    static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    /**
+     * yyyy-MM-dd HH:mm:ss的长度
+     */
+    static final int DATETIME_LENGTH = 19;
+
+    /**
+     * yyyy-MM-dd的长度
+     */
+    static final int DATE_LENGTH = 10;
+
+    /**
+     * 不满足固定格式时的返回值
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    static final int SECONDS_PER_DAY = 86400;
+
+    /**
+     * 0000-03-01至1970-01-01的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719468;
+
+    /**
+     * 400年的天数
+     */
+    private static final long DAYS_PER_CYCLE = 146097;
+
+    /**
+     * 禁止实例化
+     */
+    private FixedDateFormat() {
+
+    }
+
+    /**
+     * 解析yyyy-MM-dd HH:mm:ss
+     *
+     * @param text 日期时间字符串
+     * @return 本地时间距1970-01-01T00:00:00的秒数，不满足格式时返回INVALID
+     */
+    static long parseDateTime(CharSequence text) {
+        if (text.length() != DATETIME_LENGTH || text.charAt(10) != ' ' || text.charAt(13) != ':'
+                || text.charAt(16) != ':') {
+            return INVALID;
+        }
+        long epochDay = parseDate(text, 0);
+        int hour = digits(text, 11);
+        int minute = digits(text, 14);
+        int second = digits(text, 17);
+        if (epochDay == INVALID || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        return epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * 解析yyyy-MM-dd
+     *
+     * @param text 日期字符串
+     * @return 距1970-01-01的天数，不满足格式时返回INVALID
+     */
+    static long parseDate(CharSequence text) {
+        return text.length() == DATE_LENGTH ? parseDate(text, 0) : INVALID;
+    }
+
+    private static long parseDate(CharSequence text, int offset) {
+        if (text.charAt(offset + 4) != '-' || text.charAt(offset + 7) != '-') {
+            return INVALID;
+        }
+        int high = digits(text, offset);
+        int low = digits(text, offset + 2);
+        int month = digits(text, offset + 5);
+        int day = digits(text, offset + 8);
+        if (high < 0 || low < 0 || month < 1 || month > 12 || day < 1) {
+            return INVALID;
+        }
+        int year = high * 100 + low;
+        if (year == 0 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * 读取两位数字，不是数字时返回-1
+     */
+    private static int digits(CharSequence text, int offset) {
+        int tens = text.charAt(offset) - '0';
+        int ones = text.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    /**
+     * 将本地时间格式化为yyyy-MM-dd HH:mm:ss，写入buffer的前19个字符
+     *
+     * @param localEpochSecond 本地时间距1970-01-01T00:00:00的秒数
+     * @param buffer           长度不小于19的字符数组
+     */
+    static void formatDateTime(long localEpochSecond, char[] buffer) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+        formatDate(epochDay, buffer);
+        buffer[10] = ' ';
+        write(buffer, 11, secondOfDay / 3600);
+        buffer[13] = ':';
+        write(buffer, 14, secondOfDay / 60 % 60);
+        buffer[16] = ':';
+        write(buffer, 17, secondOfDay % 60);
+    }
+
+    /**
+     * 将本地时间格式化为yyyy-MM-dd HH:mm:ss，直接追加到builder，不创建中间的字符数组
+     *
+     * @param localEpochSecond 本地时间距1970-01-01T00:00:00的秒数
+     * @param builder          追加的StringBuilder
+     */
+    static void formatDateTime(long localEpochSecond, StringBuilder builder) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+        builder.ensureCapacity(builder.length() + DATETIME_LENGTH);
+        formatDate(epochDay, builder);
+        builder.append(' ');
+        append(builder, secondOfDay / 3600);
+        builder.append(':');
+        append(builder, secondOfDay / 60 % 60);
+        builder.append(':');
+        append(builder, secondOfDay % 60);
+    }
+
+    /**
+     * 将日期格式化为yyyy-MM-dd，写入buffer的前10个字符，年份应在0001至9999之间
+     *
+     * @param epochDay 距1970-01-01的天数
+     * @param buffer   长度不小于10的字符数组
+     */
+    static void formatDate(long epochDay, char[] buffer) {
+        int yearMonthDay = toYearMonthDay(epochDay);
+        int year = year(yearMonthDay);
+        write(buffer, 0, year / 100);
+        write(buffer, 2, year % 100);
+        buffer[4] = '-';
+        write(buffer, 5, month(yearMonthDay));
+        buffer[7] = '-';
+        write(buffer, 8, day(yearMonthDay));
+    }
+
+    /**
+     * 将日期格式化为yyyy-MM-dd，直接追加到builder，年份应在0001至9999之间
+     *
+     * @param epochDay 距1970-01-01的天数
+     * @param builder  追加的StringBuilder
+     */
+    static void formatDate(long epochDay, StringBuilder builder) {
+        int yearMonthDay = toYearMonthDay(epochDay);
+        int year = year(yearMonthDay);
+        append(builder, year / 100);
+        append(builder, year % 100);
+        builder.append('-');
+        append(builder, month(yearMonthDay));
+        builder.append('-');
+        append(builder, day(yearMonthDay));
+    }
+
+    /**
+     * 将距1970-01-01的天数转换为年月日，年、月、日分别由year、month、day读取，不创建LocalDate
+     *
+     * @param epochDay 距1970-01-01的天数
+     * @return 年左移9位、月左移5位、日按位或的结果
+     */
+    static int toYearMonthDay(long epochDay) {
+        long days = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(days, DAYS_PER_CYCLE);
+        int dayOfEra = (int) (days - era * DAYS_PER_CYCLE);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    static int year(int yearMonthDay) {
+        return yearMonthDay >> 9;
+    }
+
+    static int month(int yearMonthDay) {
+        return yearMonthDay >> 5 & 15;
+    }
+
+    static int day(int yearMonthDay) {
+        return yearMonthDay & 31;
+    }
+
+    /**
+     * 年份是否在yyyy可以表示的0001至9999之间
+     *
+     * @param epochDay 距1970-01-01的天数
+     * @return true-是；false-否
+     */
+    static boolean isFormattable(long epochDay) {
+        // 0001-01-01至9999-12-31
+        return epochDay >= -719162 && epochDay <= 2932896;
+    }
+
+    /**
+     * 年月日对应的距1970-01-01的天数
+     */
+    static long toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static void write(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void append(StringBuilder builder, int value) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
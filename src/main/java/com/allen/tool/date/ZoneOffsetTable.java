@@ -0,0 +1,166 @@
+package com.allen.tool.date;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * 时区的偏移量表，预先计算1900年至2100年之间的所有偏移量变化，查询时只做二分查找，不创建对象<br/>
+ * 超出范围的时间使用ZoneRules计算；固定偏移量的时区不需要查找
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class ZoneOffsetTable {
+
+    /**
+     * 预先计算的开始时间：1900-01-01T00:00:00Z
+     */
+    private static final long MIN_EPOCH_SECOND = -2208988800L;
+
+    /**
+     * 预先计算的结束时间：2100-01-01T00:00:00Z
+     */
+    private static final long MAX_EPOCH_SECOND = 4102444800L;
+
+    /**
+     * 最近使用的偏移量表
+     */
+    private static volatile ZoneOffsetTable last;
+
+    private final ZoneId zone;
+
+    private final ZoneRules rules;
+
+    /**
+     * 偏移量变化的时间，单位秒
+     */
+    private final long[] transitions;
+
+    /**
+     * offsets[i]为transitions[i]之前的偏移量，最后一个为最后一次变化之后的偏移量，单位秒
+     */
+    private final int[] offsets;
+
+    /**
+     * 变化前的偏移量下，每次变化对应的本地时间
+     */
+    private final long[] localTransitions;
+
+    /**
+     * 表的有效范围，固定偏移量时为整个long的范围
+     */
+    private final long minEpochSecond;
+
+    private final long maxEpochSecond;
+
+    private ZoneOffsetTable(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            this.transitions = new long[0];
+            this.offsets = new int[]{rules.getOffset(Instant.EPOCH).getTotalSeconds()};
+            this.minEpochSecond = Long.MIN_VALUE;
+            this.maxEpochSecond = Long.MAX_VALUE;
+        } else {
+            long[] times = new long[64];
+            int[] values = new int[65];
+            values[0] = rules.getOffset(Instant.ofEpochSecond(MIN_EPOCH_SECOND)).getTotalSeconds();
+            int count = 0;
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(MIN_EPOCH_SECOND));
+            while (transition != null && transition.toEpochSecond() < MAX_EPOCH_SECOND) {
+                if (count == times.length) {
+                    times = Arrays.copyOf(times, count * 2);
+                    values = Arrays.copyOf(values, count * 2 + 1);
+                }
+                times[count] = transition.toEpochSecond();
+                values[++count] = transition.getOffsetAfter().getTotalSeconds();
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            this.transitions = Arrays.copyOf(times, count);
+            this.offsets = Arrays.copyOf(values, count + 1);
+            this.minEpochSecond = MIN_EPOCH_SECOND;
+            this.maxEpochSecond = MAX_EPOCH_SECOND;
+        }
+        this.localTransitions = new long[transitions.length];
+        for (int i = 0; i < transitions.length; i++) {
+            localTransitions[i] = transitions[i] + offsets[i];
+        }
+    }
+
+    /**
+     * 获取时区的偏移量表，连续使用同一个时区时直接返回
+     *
+     * @param zone 时区
+     * @return 偏移量表
+     */
+    static ZoneOffsetTable of(ZoneId zone) {
+        ZoneOffsetTable table = last;
+        if (table == null || !table.zone.equals(zone)) {
+            table = new ZoneOffsetTable(zone);
+            last = table;
+        }
+        return table;
+    }
+
+    ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 时间点对应的偏移量
+     *
+     * @param epochSecond 距1970-01-01T00:00:00Z的秒数
+     * @return 偏移量，单位秒
+     */
+    int getOffset(long epochSecond) {
+        if (epochSecond < minEpochSecond || epochSecond >= maxEpochSecond) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        return offsets[upperBound(transitions, epochSecond)];
+    }
+
+    /**
+     * 本地时间对应的偏移量，与ZonedDateTime.ofLocal一致：本地时间重叠时取变化前的偏移量，
+     * 本地时间不存在时取变化前的偏移量，即时间按间隔向后调整
+     *
+     * @param localEpochSecond 本地时间距1970-01-01T00:00:00的秒数
+     * @return 偏移量，单位秒
+     */
+    int getOffsetOfLocal(long localEpochSecond) {
+        if (localEpochSecond - offsets[0] < minEpochSecond || localEpochSecond - offsets[offsets.length - 1] >= maxEpochSecond) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+            ZonedDateTime zoned = ZonedDateTime.ofLocal(local, zone, null);
+            return (int) (localEpochSecond - zoned.toEpochSecond());
+        }
+        int index = upperBound(localTransitions, localEpochSecond);
+        if (index == 0) {
+            return offsets[0];
+        }
+        int before = offsets[index - 1];
+        int after = offsets[index];
+        return after > before && localEpochSecond < transitions[index - 1] + after ? before : after;
+    }
+
+    /**
+     * 小于等于给定值的元素个数
+     */
+    private static int upperBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,59 @@
+package com.allen.tool.id;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存的毫秒时钟，由单个后台线程每毫秒刷新一次，读取时只是一次volatile读<br/>
+ * 读取到的时间最多比系统时间落后约1毫秒，适合高频调用且对亚毫秒精度不敏感的场景
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class CachedMillisClock implements UidClock {
+
+    /**
+     * 刷新间隔，单位微秒
+     */
+    private static final long TICK_MICROS = 1000L;
+
+    /**
+     * 缓存的时间戳
+     */
+    private volatile long now;
+
+    /**
+     * 私有构造方法，启动刷新线程
+     */
+    private CachedMillisClock() {
+        this.now = System.currentTimeMillis();
+        ScheduledThreadPoolExecutor ticker = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "CachedMillisClock-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), TICK_MICROS, TICK_MICROS,
+                TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * 获取全局唯一的缓存时钟，第一次调用时启动刷新线程
+     *
+     * @return 缓存时钟
+     */
+    public static CachedMillisClock getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * 延迟初始化
+     */
+    private static final class Holder {
+        private static final CachedMillisClock INSTANCE = new CachedMillisClock();
+    }
+}
@@ -0,0 +1,345 @@
+package com.allen.tool.id;
+
+import com.allen.tool.thread.CustomizableThreadFactory;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static com.allen.tool.id.UidKeyGenerator.EPOCH;
+import static com.allen.tool.id.UidKeyGenerator.SEQUENCE_MASK;
+import static com.allen.tool.id.UidKeyGenerator.TIMESTAMP_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_MAX_VALUE;
+
+/**
+ * 基于环形缓冲区预生成UID的生成器，百度CachedUidGenerator算法，ID布局与UidKeyGenerator一致<br/>
+ * 后台线程按毫秒批量生成UID填充到UidRingBuffer中，generateKey直接从缓冲区读取，不加锁且为O(1)；
+ * 填充时使用的时间戳为max(上次填充时间戳+1, 当前时间)，消费速度超过每毫秒4096个时会借用未来的时间戳，
+ * 因此同一个workerId重启后可能与借用的时间戳重复，重启时应重新分配workerId
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class CachedUidGenerator implements UidGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedUidGenerator.class);
+
+    /**
+     * 默认的缓冲区扩容倍数，缓冲区大小为4096 << boostPower
+     */
+    public static final int DEFAULT_BOOST_POWER = 3;
+
+    /**
+     * 默认的填充阈值百分比
+     */
+    public static final int DEFAULT_PADDING_FACTOR = 50;
+
+    /**
+     * 目前用于生成ID的workerId
+     */
+    private final long workerId;
+
+    /**
+     * workerId分配器，读取及填充前校验workerId是否仍然有效
+     */
+    private final WorkerIdAssigner workerIdAssigner;
+
+    /**
+     * 填充时使用的时钟
+     */
+    private final UidClock clock;
+
+    /**
+     * 最近一次填充使用的时间戳
+     */
+    private final PaddedAtomicLong lastMillis;
+
+    /**
+     * 预生成UID的环形缓冲区
+     */
+    private final UidRingBuffer ringBuffer;
+
+    /**
+     * 是否正在填充或已提交异步填充任务，提交前置为true，保证线程池中最多只有一个填充任务
+     */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 异步填充线程池，单线程，空闲时线程自动回收
+     */
+    private final ThreadPoolExecutor paddingExecutor;
+
+    /**
+     * 运行指标，借用未来时间戳计为序列号用尽；填充使用的时间戳不回退，因此不会出现时钟回拨及备份workerId切换
+     */
+    private final UidMetrics metrics = new UidMetrics();
+
+    /**
+     * 构造方法，使用默认的缓冲区大小及填充阈值
+     *
+     * @param workerId workerId
+     */
+    public CachedUidGenerator(long workerId) {
+        this(workerId, DEFAULT_BOOST_POWER, DEFAULT_PADDING_FACTOR);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerId      workerId
+     * @param boostPower    缓冲区扩容倍数，缓冲区大小为4096 << boostPower
+     * @param paddingFactor 填充阈值百分比，剩余可读取的UID低于缓冲区大小的该百分比时触发填充，取值范围为1~99
+     */
+    public CachedUidGenerator(long workerId, int boostPower, int paddingFactor) {
+        this(workerId, boostPower, paddingFactor, UidClock.SYSTEM);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerId      workerId
+     * @param boostPower    缓冲区扩容倍数，缓冲区大小为4096 << boostPower
+     * @param paddingFactor 填充阈值百分比，剩余可读取的UID低于缓冲区大小的该百分比时触发填充，取值范围为1~99
+     * @param clock         填充时使用的时钟，如CachedMillisClock
+     */
+    public CachedUidGenerator(long workerId, int boostPower, int paddingFactor, UidClock clock) {
+        this(() -> workerId, boostPower, paddingFactor, clock);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerIdAssigner workerId分配器，借用未来时间戳时应保证重启后分配到不同的workerId
+     * @param boostPower       缓冲区扩容倍数，缓冲区大小为4096 << boostPower
+     * @param paddingFactor    填充阈值百分比，剩余可读取的UID低于缓冲区大小的该百分比时触发填充，取值范围为1~99
+     * @param clock            填充时使用的时钟，如CachedMillisClock
+     */
+    public CachedUidGenerator(WorkerIdAssigner workerIdAssigner, int boostPower, int paddingFactor, UidClock clock) {
+        long workerId = workerIdAssigner.assignWorkerId();
+        Preconditions.checkArgument(workerId >= 0L && workerId < WORKER_ID_MAX_VALUE);
+        Preconditions.checkArgument(boostPower >= 0 && boostPower <= 10, "boostPower must be in [0, 10]");
+        this.workerId = workerId;
+        this.workerIdAssigner = workerIdAssigner;
+        this.clock = Preconditions.checkNotNull(clock);
+        this.lastMillis = new PaddedAtomicLong(clock.currentTimeMillis() - 1);
+        this.ringBuffer = new UidRingBuffer((int) ((SEQUENCE_MASK + 1) << boostPower), paddingFactor);
+        this.paddingExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("CachedUidGenerator-padding"));
+        this.paddingExecutor.allowCoreThreadTimeOut(true);
+        this.ringBuffer.setPaddingTrigger(this::asyncPadding);
+        // 初始化时填满缓冲区
+        paddingBuffer();
+        log.info("Initialized CachedUidGenerator, workerId:{}, {}", workerId, ringBuffer);
+    }
+
+    /**
+     * 从缓冲区读取一个UID
+     *
+     * @return UID
+     * @throws IllegalStateException 如果分配的workerId已失效，缓冲区中借用未来时间戳的UID可能与接管的实例重复，不再发放
+     */
+    @Override
+    public long nextId() {
+        checkLease();
+        long uid = ringBuffer.take();
+        metrics.recordIssued(workerId, 1);
+        return uid;
+    }
+
+    /**
+     * 设置缓冲区已满时的写入拒绝策略，默认丢弃
+     *
+     * @param rejectedPutHandler 写入拒绝策略
+     */
+    public void setRejectedPutHandler(UidRingBuffer.RejectedPutHandler rejectedPutHandler) {
+        ringBuffer.setRejectedPutHandler(rejectedPutHandler);
+    }
+
+    /**
+     * 设置缓冲区为空时的读取拒绝策略，默认抛出IllegalStateException
+     *
+     * @param rejectedTakeHandler 读取拒绝策略
+     */
+    public void setRejectedTakeHandler(UidRingBuffer.RejectedTakeHandler rejectedTakeHandler) {
+        ringBuffer.setRejectedTakeHandler(rejectedTakeHandler);
+    }
+
+    /**
+     * 读取拒绝策略：由调用线程同步填充后重新读取，适合不允许失败的场景
+     *
+     * @return 读取拒绝策略
+     */
+    public UidRingBuffer.RejectedTakeHandler callerPaddingPolicy() {
+        return buffer -> paddingAndTake();
+    }
+
+    /**
+     * 批量生成ID，缓冲区为空时由调用线程同步填充，不经过读取拒绝策略
+     *
+     * @param n 生成数量
+     * @return ID数组
+     */
+    @Override
+    public long[] generateKeys(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = bulkTake();
+        }
+        return keys;
+    }
+
+    /**
+     * 以流的形式批量生成ID，缓冲区为空时由调用线程同步填充，不经过读取拒绝策略
+     *
+     * @param n 生成数量
+     * @return ID流
+     */
+    @Override
+    public LongStream generateKeyStream(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        return LongStream.generate(this::bulkTake).limit(n);
+    }
+
+    /**
+     * 批量生成时读取一个UID，缓冲区为空时同步填充
+     *
+     * @return UID
+     */
+    private long bulkTake() {
+        checkLease();
+        long uid = ringBuffer.tryTake();
+        if (uid == UidRingBuffer.EMPTY) {
+            uid = paddingAndTake();
+        }
+        metrics.recordIssued(workerId, 1);
+        return uid;
+    }
+
+    /**
+     * 同步填充后读取一个UID，其他线程正在填充时让出CPU后重试
+     *
+     * @return UID
+     */
+    private long paddingAndTake() {
+        for (;;) {
+            checkLease();
+            paddingBuffer();
+            long uid = ringBuffer.tryTake();
+            if (uid != UidRingBuffer.EMPTY) {
+                return uid;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 异步填充，已有填充任务在执行或排队时直接返回
+     */
+    private void asyncPadding() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            paddingExecutor.execute(() -> {
+                try {
+                    doPadding();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 同步填充缓冲区直到写满，同一时刻只允许一个线程填充，其他线程正在填充时直接返回
+     */
+    void paddingBuffer() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            doPadding();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 填充缓冲区直到写满，调用前需要将running置为true；写满时缓冲区拒绝写入，是正常的结束条件
+     */
+    private void doPadding() {
+        boolean isFullRingBuffer = false;
+        // workerId失效后不再填充
+        while (!isFullRingBuffer && workerIdAssigner.isValid(workerId)) {
+            long currentMillis = nextMillis();
+            long first = ((currentMillis - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS)
+                    | (workerId << WORKER_ID_LEFT_SHIFT_BITS);
+            for (long sequence = 0; sequence <= SEQUENCE_MASK; sequence++) {
+                if (!ringBuffer.put(first | sequence)) {
+                    isFullRingBuffer = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 分配器判断workerId已失效时停止发放ID，如租约过期后可能已被其他实例接管
+     */
+    private void checkLease() {
+        if (!workerIdAssigner.isValid(workerId)) {
+            throw new IllegalStateException("Lease of workerId " + workerId + " is lost or expired");
+        }
+    }
+
+    /**
+     * 取下一个用于填充的时间戳，消费速度超过当前时间时借用未来的时间戳
+     *
+     * @return 时间戳
+     */
+    private long nextMillis() {
+        long currentMillis = clock.currentTimeMillis();
+        long millis = lastMillis.updateAndGet(last -> Math.max(last + 1, currentMillis));
+        if (millis > currentMillis) {
+            metrics.recordSequenceExhaustion();
+        }
+        return millis;
+    }
+
+    /**
+     * 用于生成ID的workerId
+     *
+     * @return workerId
+     */
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    @Override
+    public UidMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 关闭异步填充线程池
+     */
+    public void destroy() {
+        paddingExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.allen.tool.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_MAX_VALUE;
+
+/**
+ * 基于文件锁的workerId分配器，适用于多个进程共享同一块本地磁盘的场景<br/>
+ * 每个workerId对应目录下的一个worker-{workerId}.lock文件，持有该文件的排他锁即持有workerId的租约；
+ * 进程退出时操作系统自动释放文件锁，租约随之失效，不需要额外的过期处理
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class FileLockWorkerIdAssigner implements WorkerIdAssigner {
+
+    private static final Logger log = LoggerFactory.getLogger(FileLockWorkerIdAssigner.class);
+
+    /**
+     * 锁文件所在目录
+     */
+    private final Path directory;
+
+    /**
+     * 当前进程持有的workerId及对应的文件锁
+     */
+    private final Map<Long, FileLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 构造方法
+     *
+     * @param directory 锁文件所在目录，不存在时自动创建
+     */
+    public FileLockWorkerIdAssigner(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public synchronized long assignWorkerId() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create worker id lock directory " + directory, e);
+        }
+        for (long workerId = 0; workerId < WORKER_ID_MAX_VALUE; workerId++) {
+            if (locks.containsKey(workerId)) {
+                continue;
+            }
+            FileLock lock = tryLock(workerId);
+            if (lock != null) {
+                locks.put(workerId, lock);
+                log.info("Assigned workerId {} by lock file {}", workerId, lockFile(workerId));
+                return workerId;
+            }
+        }
+        throw new IllegalStateException("No available worker id in " + directory);
+    }
+
+    @Override
+    public synchronized void releaseWorkerId(long workerId) {
+        FileLock lock = locks.remove(workerId);
+        if (lock == null) {
+            return;
+        }
+        try {
+            lock.release();
+            lock.channel().close();
+        } catch (IOException e) {
+            log.error("释放workerId[{}]的文件锁异常", workerId, e);
+        }
+    }
+
+    /**
+     * 尝试获取workerId对应锁文件的排他锁
+     *
+     * @param workerId workerId
+     * @return 文件锁，已被其他进程持有时返回null
+     */
+    private FileLock tryLock(long workerId) {
+        Path file = lockFile(workerId);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // 当前进程的其他分配器已持有该文件锁
+        } catch (IOException e) {
+            log.warn("获取锁文件[{}]异常", file, e);
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("关闭锁文件[{}]异常", file, e);
+            }
+        }
+        return null;
+    }
+
+    private Path lockFile(long workerId) {
+        return directory.resolve("worker-" + workerId + ".lock");
+    }
+}
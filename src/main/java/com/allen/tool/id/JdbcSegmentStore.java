@@ -0,0 +1,124 @@
+package com.allen.tool.id;
+
+import com.google.common.base.Preconditions;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 基于数据库的号段存储，每个业务标识一行，分配号段时在事务中更新max_id后读取<br/>
+ * SQL为标准语法，可直接使用H2等嵌入式数据库离线运行。表结构如下：
+ * <pre>
+ * CREATE TABLE id_segment (
+ *     biz_tag     VARCHAR(128) NOT NULL PRIMARY KEY,
+ *     max_id      BIGINT       NOT NULL,
+ *     update_time BIGINT       NOT NULL
+ * )
+ * </pre>
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class JdbcSegmentStore implements SegmentStore {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS id_segment ("
+            + "biz_tag VARCHAR(128) NOT NULL PRIMARY KEY, max_id BIGINT NOT NULL, update_time BIGINT NOT NULL)";
+
+    private static final String UPDATE_SQL = "UPDATE id_segment SET max_id = max_id + ?, update_time = ? WHERE biz_tag = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO id_segment (biz_tag, max_id, update_time) VALUES (?, ?, ?)";
+
+    private static final String SELECT_SQL = "SELECT max_id FROM id_segment WHERE biz_tag = ?";
+
+    /**
+     * 违反完整性约束的SQLState类别
+     */
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    private final DataSource dataSource;
+
+    /**
+     * 构造方法
+     *
+     * @param dataSource 数据源
+     */
+    public JdbcSegmentStore(DataSource dataSource) {
+        this.dataSource = Preconditions.checkNotNull(dataSource);
+    }
+
+    /**
+     * 号段表不存在时创建
+     */
+    public void createTableIfNotExists() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE_SQL);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create table id_segment", e);
+        }
+    }
+
+    @Override
+    public long allocate(String bizTag, int step) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (;;) {
+                    try {
+                        if (!increase(connection, bizTag, step)) {
+                            insert(connection, bizTag, step);
+                        }
+                        long maxId = selectMaxId(connection, bizTag);
+                        connection.commit();
+                        return maxId;
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        // 主键冲突说明其他实例已插入该业务标识，重新更新即可
+                        if (e.getSQLState() == null || !e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION)) {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not allocate segment for " + bizTag, e);
+        }
+    }
+
+    private boolean increase(Connection connection, String bizTag, int step) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+            statement.setLong(1, step);
+            statement.setLong(2, System.currentTimeMillis());
+            statement.setString(3, bizTag);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private void insert(Connection connection, String bizTag, int step) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            statement.setString(1, bizTag);
+            statement.setLong(2, step);
+            statement.setLong(3, System.currentTimeMillis());
+            statement.executeUpdate();
+        }
+    }
+
+    private long selectMaxId(Connection connection, String bizTag) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setString(1, bizTag);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("No segment row for " + bizTag);
+                }
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.allen.tool.id;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_MAX_VALUE;
+
+/**
+ * 基于数据库租约的workerId分配器，适用于跨主机部署的场景<br/>
+ * 租约保存在uid_worker_lease表中，每个workerId一行，过期时间之前只有owner可以使用该workerId；
+ * 分配成功后由后台线程按租约时长的1/3定时续约，进程异常退出时租约到期后自动释放。<br/>
+ * 租约在本地另有一个截止时间，为最近一次续约成功前的时间加上租约时长的2/3，按System.nanoTime()计算，不受本机时钟调整影响；
+ * 超过截止时间或续约发现租约已被接管时isValid返回false，生成器停止发放ID。
+ * 判断租约过期时比较的是各主机的系统时间，各主机之间的时钟偏差必须小于租约时长的1/3。表结构如下：
+ * <pre>
+ * CREATE TABLE uid_worker_lease (
+ *     worker_id   INT          NOT NULL PRIMARY KEY,
+ *     owner       VARCHAR(128) NOT NULL,
+ *     expire_time BIGINT       NOT NULL
+ * )
+ * </pre>
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class JdbcWorkerIdAssigner implements WorkerIdAssigner {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcWorkerIdAssigner.class);
+
+    /**
+     * 默认租约时长，单位毫秒
+     */
+    public static final long DEFAULT_LEASE_MILLIS = 60_000L;
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS uid_worker_lease ("
+            + "worker_id INT NOT NULL PRIMARY KEY, owner VARCHAR(128) NOT NULL, expire_time BIGINT NOT NULL)";
+
+    private static final String SELECT_SQL = "SELECT worker_id, expire_time FROM uid_worker_lease";
+
+    private static final String INSERT_SQL = "INSERT INTO uid_worker_lease (worker_id, owner, expire_time) VALUES (?, ?, ?)";
+
+    private static final String TAKE_OVER_SQL = "UPDATE uid_worker_lease SET owner = ?, expire_time = ? "
+            + "WHERE worker_id = ? AND expire_time < ?";
+
+    private static final String RENEW_SQL = "UPDATE uid_worker_lease SET expire_time = ? WHERE worker_id = ? AND owner = ?";
+
+    private static final String RELEASE_SQL = "DELETE FROM uid_worker_lease WHERE worker_id = ? AND owner = ?";
+
+    private final DataSource dataSource;
+
+    /**
+     * 租约持有者标识，默认为进程名加随机串
+     */
+    private final String owner;
+
+    /**
+     * 租约时长，单位毫秒
+     */
+    private final long leaseMillis;
+
+    /**
+     * 当前实例持有的workerId及对应的续约任务
+     */
+    private final Map<Long, ScheduledFuture<?>> leases = new HashMap<>();
+
+    /**
+     * 每个workerId本地的租约截止时间，为System.nanoTime()的值，0表示未持有或已失效
+     */
+    private final AtomicLongArray deadlines = new AtomicLongArray((int) WORKER_ID_MAX_VALUE);
+
+    /**
+     * 续约线程池
+     */
+    private final ScheduledThreadPoolExecutor renewExecutor;
+
+    /**
+     * 构造方法，使用默认的租约时长
+     *
+     * @param dataSource 数据源
+     */
+    public JdbcWorkerIdAssigner(DataSource dataSource) {
+        this(dataSource, ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID(), DEFAULT_LEASE_MILLIS);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param dataSource  数据源
+     * @param owner       租约持有者标识
+     * @param leaseMillis 租约时长，单位毫秒
+     */
+    public JdbcWorkerIdAssigner(DataSource dataSource, String owner, long leaseMillis) {
+        Preconditions.checkArgument(leaseMillis >= 3, "leaseMillis must be at least 3");
+        this.dataSource = Preconditions.checkNotNull(dataSource);
+        this.owner = Preconditions.checkNotNull(owner);
+        this.leaseMillis = leaseMillis;
+        this.renewExecutor = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "JdbcWorkerIdAssigner-renew");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.renewExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 租约表不存在时创建
+     */
+    public void createTableIfNotExists() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE_SQL);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create table uid_worker_lease", e);
+        }
+    }
+
+    @Override
+    public synchronized long assignWorkerId() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            Map<Long, Long> expireTimes = loadExpireTimes(connection);
+            long startNanos = System.nanoTime();
+            long now = System.currentTimeMillis();
+            for (long workerId = 0; workerId < WORKER_ID_MAX_VALUE; workerId++) {
+                Long expireTime = expireTimes.get(workerId);
+                if (expireTime != null && expireTime >= now) {
+                    continue;
+                }
+                boolean acquired = expireTime == null ? tryInsert(connection, workerId, now)
+                        : tryTakeOver(connection, workerId, now);
+                if (acquired) {
+                    deadlines.set((int) workerId, deadline(startNanos));
+                    scheduleRenew(workerId);
+                    log.info("Assigned workerId {} to owner {}", workerId, owner);
+                    return workerId;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not assign worker id", e);
+        }
+        throw new IllegalStateException("No available worker id in table uid_worker_lease");
+    }
+
+    @Override
+    public synchronized void releaseWorkerId(long workerId) {
+        ScheduledFuture<?> renewTask = leases.remove(workerId);
+        if (renewTask == null) {
+            return;
+        }
+        renewTask.cancel(false);
+        deadlines.set((int) workerId, 0L);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RELEASE_SQL)) {
+            statement.setLong(1, workerId);
+            statement.setString(2, owner);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.error("Could not release lease of workerId {}", workerId, e);
+        }
+    }
+
+    /**
+     * 租约未超过本地截止时间且没有被其他实例接管时有效
+     *
+     * @param workerId 已分配的workerId
+     * @return true-有效；false-已失效
+     */
+    @Override
+    public boolean isValid(long workerId) {
+        if (workerId < 0 || workerId >= WORKER_ID_MAX_VALUE) {
+            return false;
+        }
+        long deadline = deadlines.get((int) workerId);
+        return deadline != 0L && System.nanoTime() - deadline < 0;
+    }
+
+    /**
+     * 本地截止时间，预留租约时长的1/3作为时钟偏差及续约耗时的余量
+     *
+     * @param startNanos 分配或续约开始前的System.nanoTime()
+     * @return 截止时间
+     */
+    private long deadline(long startNanos) {
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(leaseMillis - leaseMillis / 3);
+        // 0表示已失效，避免截止时间恰好为0
+        return deadline == 0L ? 1L : deadline;
+    }
+
+    /**
+     * 读取所有已存在租约的过期时间
+     */
+    private Map<Long, Long> loadExpireTimes(Connection connection) throws SQLException {
+        Map<Long, Long> expireTimes = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                expireTimes.put(resultSet.getLong(1), resultSet.getLong(2));
+            }
+        }
+        return expireTimes;
+    }
+
+    /**
+     * 尝试插入新的租约，主键冲突说明已被其他实例抢先分配
+     */
+    private boolean tryInsert(Connection connection, long workerId, long now) {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            statement.setLong(1, workerId);
+            statement.setString(2, owner);
+            statement.setLong(3, now + leaseMillis);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            log.debug("Insert lease for workerId {} failed", workerId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 尝试接管已过期的租约，条件更新保证同一时刻只有一个实例接管成功
+     */
+    private boolean tryTakeOver(Connection connection, long workerId, long now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TAKE_OVER_SQL)) {
+            statement.setString(1, owner);
+            statement.setLong(2, now + leaseMillis);
+            statement.setLong(3, workerId);
+            statement.setLong(4, now);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * 按租约时长的1/3定时续约
+     */
+    private void scheduleRenew(long workerId) {
+        long period = leaseMillis / 3;
+        leases.put(workerId, renewExecutor.scheduleAtFixedRate(() -> renew(workerId), period, period,
+                TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 续约，更新行数不为1说明租约已被其他实例接管，立即失效且不再续约；
+     * 续约异常时不延长本地截止时间，之后续约成功前超过截止时间的租约同样失效
+     */
+    private void renew(long workerId) {
+        if (deadlines.get((int) workerId) == 0L) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RENEW_SQL)) {
+            statement.setLong(1, System.currentTimeMillis() + leaseMillis);
+            statement.setLong(2, workerId);
+            statement.setString(3, owner);
+            if (statement.executeUpdate() == 1) {
+                // 续约期间已释放或已失效的租约不再恢复
+                long current = deadlines.get((int) workerId);
+                if (current != 0L) {
+                    deadlines.compareAndSet((int) workerId, current, deadline(startNanos));
+                }
+            } else {
+                deadlines.set((int) workerId, 0L);
+                log.error("Lease of workerId {} is lost, owner {}", workerId, owner);
+            }
+        } catch (SQLException e) {
+            log.error("Could not renew lease of workerId {}", workerId, e);
+        }
+    }
+}
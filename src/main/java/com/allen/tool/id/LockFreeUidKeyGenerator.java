@@ -0,0 +1,274 @@
+package com.allen.tool.id;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static com.allen.tool.id.UidKeyGenerator.BACKUP_COUNT;
+import static com.allen.tool.id.UidKeyGenerator.EPOCH;
+import static com.allen.tool.id.UidKeyGenerator.MAX_BACKWARD_MS;
+import static com.allen.tool.id.UidKeyGenerator.SEQUENCE_MASK;
+import static com.allen.tool.id.UidKeyGenerator.TIMESTAMP_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_MAX_VALUE;
+
+/**
+ * 无锁UID生成器，与UidKeyGenerator使用相同的41/10/12位布局及时钟回拨处理方式<br/>
+ * 最近一次发放的ID(时间戳+workerId+序列号)保存在一个AtomicLong中，通过CAS推进，不再需要对象锁；
+ * 当batchSize大于1时，每个线程一次CAS预留一段连续的序列号，段内ID的发放不需要任何共享写操作
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class LockFreeUidKeyGenerator implements UidGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LockFreeUidKeyGenerator.class);
+
+    private static final long WORKER_ID_MASK = (1L << WORKER_ID_BITS) - 1L;
+
+    /**
+     * 每个线程一次预留的序列号数量，为1时不做线程本地预留
+     */
+    private final int batchSize;
+
+    /**
+     * 生成ID使用的时钟
+     */
+    private final UidClock clock;
+
+    /**
+     * workerId分配器，每次预留序列号前校验分配的workerId是否仍然有效
+     */
+    private final WorkerIdAssigner workerIdAssigner;
+
+    /**
+     * 分配器分配的workerId，时钟回拨切换备份workerId后不变
+     */
+    private final long assignedWorkerId;
+
+    /**
+     * 最近一次发放（或预留）的ID，时间戳、workerId、序列号与生成的ID布局一致
+     */
+    private final AtomicLong lastId;
+
+    /**
+     * 保留workerId和lastTime, 以及备用workerId和其对应的lastTime
+     */
+    private final Map<Long, Long> workerIdLastTimeMap = new ConcurrentHashMap<>();
+
+    /**
+     * 运行指标，线程本地预留的序列号段在预留时计入已发放数量
+     */
+    private final UidMetrics metrics = new UidMetrics();
+
+    /**
+     * 线程本地预留的序列号段：[0]为下一个可发放的ID，[1]为段结束ID(不包含)
+     */
+    private final ThreadLocal<long[]> localRange = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * 构造方法，不做线程本地预留
+     *
+     * @param workerId workerId
+     */
+    public LockFreeUidKeyGenerator(long workerId) {
+        this(workerId, 1);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerId  workerId
+     * @param batchSize 每个线程一次预留的序列号数量，取值范围为1~4096
+     */
+    public LockFreeUidKeyGenerator(long workerId, int batchSize) {
+        this(workerId, batchSize, UidClock.SYSTEM);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerId  workerId
+     * @param batchSize 每个线程一次预留的序列号数量，取值范围为1~4096
+     * @param clock     生成ID使用的时钟，如CachedMillisClock
+     */
+    public LockFreeUidKeyGenerator(long workerId, int batchSize, UidClock clock) {
+        this(() -> workerId, batchSize, clock);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerIdAssigner workerId分配器
+     * @param batchSize        每个线程一次预留的序列号数量，取值范围为1~4096
+     * @param clock            生成ID使用的时钟，如CachedMillisClock
+     */
+    public LockFreeUidKeyGenerator(WorkerIdAssigner workerIdAssigner, int batchSize, UidClock clock) {
+        long workerId = workerIdAssigner.assignWorkerId();
+        Preconditions.checkArgument(workerId >= 0L && workerId < WORKER_ID_MAX_VALUE);
+        Preconditions.checkArgument(batchSize >= 1 && batchSize <= UidBlocks.MAX_BLOCK_SIZE);
+        this.batchSize = batchSize;
+        this.clock = Preconditions.checkNotNull(clock);
+        this.workerIdAssigner = workerIdAssigner;
+        this.assignedWorkerId = workerId;
+        for (int i = 0; i <= BACKUP_COUNT; i++) {
+            workerIdLastTimeMap.put(workerId + (i * WORKER_ID_MAX_VALUE), 0L);
+        }
+        // 初始时间戳为EPOCH，第一次生成时一定会进入新的毫秒
+        this.lastId = new AtomicLong(workerId << WORKER_ID_LEFT_SHIFT_BITS);
+    }
+
+    /**
+     * 当前用于生成ID的workerId
+     *
+     * @return workerId，时钟回拨切换后为备份workerId
+     */
+    public long getWorkerId() {
+        return (lastId.get() >>> WORKER_ID_LEFT_SHIFT_BITS) & WORKER_ID_MASK;
+    }
+
+    @Override
+    public UidMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 生成ID，batchSize大于1时优先从当前线程预留的序列号段中发放；
+     * 从预留的序列号段发放前同样校验workerId，失效时丢弃段内剩余的ID
+     *
+     * @return ID
+     * @throws IllegalStateException 如果分配的workerId已失效
+     */
+    @Override
+    public long nextId() {
+        if (batchSize == 1) {
+            return reserve(1);
+        }
+        long[] range = localRange.get();
+        if (!workerIdAssigner.isValid(assignedWorkerId)) {
+            range[0] = range[1];
+            checkLease();
+        }
+        if (range[0] == range[1]) {
+            long first = reserve(batchSize);
+            range[0] = first;
+            range[1] = first + UidBlocks.grantedCount(first, batchSize);
+        }
+        return range[0]++;
+    }
+
+    /**
+     * 批量生成ID，每个序列号段只需要一次CAS，不经过线程本地预留
+     *
+     * @param n 生成数量
+     * @return ID数组
+     */
+    @Override
+    public long[] generateKeys(int n) {
+        return UidBlocks.generate(n, this::reserve);
+    }
+
+    @Override
+    public LongStream generateKeyStream(long n) {
+        return UidBlocks.stream(n, this::reserve);
+    }
+
+    /**
+     * 在同一毫秒内预留一段连续的序列号，返回段内第一个ID<br/>
+     * 实际预留的数量为count与当前毫秒剩余序列号数量中的较小值，可通过UidBlocks.grantedCount计算；
+     * 当前毫秒的序列号已用尽时等待到下一毫秒
+     *
+     * @param count 期望预留的数量，取值范围为1~4096
+     * @return 段内第一个ID
+     * @throws IllegalStateException 如果分配的workerId已失效
+     */
+    long reserve(int count) {
+        checkLease();
+        for (;;) {
+            long last = lastId.get();
+            long lastTime = (last >>> TIMESTAMP_LEFT_SHIFT_BITS) + EPOCH;
+            long currentMillis = clock.currentTimeMillis();
+            // 当发生时钟回拨时
+            if (lastTime > currentMillis) {
+                metrics.recordBackwardClock();
+                // 如果时钟回拨在可接受范围内, 等待即可
+                if (lastTime - currentMillis < MAX_BACKWARD_MS) {
+                    metrics.waitUntilAfter(clock, lastTime - 1);
+                } else {
+                    switchToBackup(last, currentMillis);
+                }
+                continue;
+            }
+
+            long first;
+            long next;
+            if (lastTime == currentMillis) {
+                // 如果和最后一次请求处于同一毫秒, 那么从sequence+1开始预留
+                long sequence = last & SEQUENCE_MASK;
+                if (sequence == SEQUENCE_MASK) {
+                    metrics.recordSequenceExhaustion();
+                    metrics.waitUntilAfter(clock, currentMillis);
+                    continue;
+                }
+                first = last + 1;
+                next = last + Math.min(count, SEQUENCE_MASK - sequence);
+            } else {
+                // 如果是一个更近的时间戳, 那么sequence归零
+                long workerId = (last >>> WORKER_ID_LEFT_SHIFT_BITS) & WORKER_ID_MASK;
+                first = ((currentMillis - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS)
+                        | (workerId << WORKER_ID_LEFT_SHIFT_BITS);
+                next = first + count - 1;
+            }
+            if (lastId.compareAndSet(last, next)) {
+                metrics.recordIssued((first >>> WORKER_ID_LEFT_SHIFT_BITS) & WORKER_ID_MASK, next - first + 1);
+                return first;
+            }
+        }
+    }
+
+    /**
+     * 分配器判断workerId已失效时停止发放ID，如租约过期后可能已被其他实例接管
+     */
+    private void checkLease() {
+        if (!workerIdAssigner.isValid(assignedWorkerId)) {
+            throw new IllegalStateException("Lease of workerId " + assignedWorkerId + " is lost or expired");
+        }
+    }
+
+    /**
+     * 时钟回拨超出容忍范围时，切换到lastTime不晚于当前时间的备份workerId上生成
+     *
+     * @param last          发现时钟回拨时读取到的最近一次发放的ID
+     * @param currentMillis 当前时间
+     */
+    private synchronized void switchToBackup(long last, long currentMillis) {
+        if (lastId.get() != last) {
+            // 其他线程已经完成切换
+            return;
+        }
+        long workerId = (last >>> WORKER_ID_LEFT_SHIFT_BITS) & WORKER_ID_MASK;
+        workerIdLastTimeMap.put(workerId, (last >>> TIMESTAMP_LEFT_SHIFT_BITS) + EPOCH);
+        // 遍历所有workerId(包括备用workerId, 查看哪些workerId可用)
+        for (Map.Entry<Long, Long> entry : workerIdLastTimeMap.entrySet()) {
+            long backupLastTime = Math.max(entry.getValue(), EPOCH);
+            if (backupLastTime <= currentMillis) {
+                log.warn("Clock is moving backwards, switch workerId from {} to {}", workerId, entry.getKey());
+                // 序列号置为最大值，保证与备份workerId的lastTime处于同一毫秒时不会重复
+                lastId.set(((backupLastTime - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS)
+                        | (entry.getKey() << WORKER_ID_LEFT_SHIFT_BITS) | SEQUENCE_MASK);
+                metrics.recordBackupSwitch();
+                return;
+            }
+        }
+
+        // 如果所有workerId以及备用workerId都处于时钟回拨, 那么抛出异常
+        throw new IllegalStateException("Clock is moving backwards, current time is "
+                + currentMillis + " milliseconds, workerId map = " + workerIdLastTimeMap);
+    }
+}
@@ -0,0 +1,24 @@
+package com.allen.tool.id;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于内存的号段存储，进程重启后从1重新分配，仅用于单机测试或不需要持久化的场景
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class MemorySegmentStore implements SegmentStore {
+
+    /**
+     * 业务标识对应的当前最大值
+     */
+    private final Map<String, AtomicLong> maxIds = new ConcurrentHashMap<>();
+
+    @Override
+    public long allocate(String bizTag, int step) {
+        return maxIds.computeIfAbsent(bizTag, key -> new AtomicLong()).addAndGet(step);
+    }
+}
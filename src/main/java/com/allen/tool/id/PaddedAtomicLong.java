@@ -0,0 +1,32 @@
+package com.allen.tool.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 填充缓存行的AtomicLong，避免RingBuffer的tail和cursor等热点变量之间发生伪共享
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+class PaddedAtomicLong extends AtomicLong {
+
+    private static final long serialVersionUID = -3415778863941386253L;
+
+    /**
+     * 填充字段，与AtomicLong的value合计占满一个64字节的缓存行
+     */
+    public volatile long p1, p2, p3, p4, p5, p6 = 7L;
+
+    PaddedAtomicLong(long initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * 防止填充字段被JIT优化掉
+     *
+     * @return 填充字段之和
+     */
+    public long sumPaddingToPreventOptimisation() {
+        return p1 + p2 + p3 + p4 + p5 + p6;
+    }
+}
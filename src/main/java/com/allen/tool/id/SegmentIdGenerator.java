@@ -0,0 +1,318 @@
+package com.allen.tool.id;
+
+import com.allen.tool.thread.CustomizableThreadFactory;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 号段模式的ID生成器，美团Leaf-segment算法，按业务标识生成稠密且单调递增的ID<br/>
+ * 每个业务标识维护两个号段：当前号段消耗超过10%时异步从SegmentStore预取下一个号段，当前号段用尽时直接切换，
+ * 正常情况下发放ID只是一次AtomicLong自增；号段长度根据两次预取的间隔自适应调整，
+ * 间隔小于15分钟时翻倍，超过30分钟时减半，但不小于初始长度
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class SegmentIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentIdGenerator.class);
+
+    /**
+     * 默认的初始号段长度
+     */
+    public static final int DEFAULT_STEP = 1000;
+
+    /**
+     * 号段长度上限
+     */
+    private static final int MAX_STEP = 1_000_000;
+
+    /**
+     * 期望的号段预取间隔，单位毫秒
+     */
+    private static final long SEGMENT_DURATION = 15 * 60 * 1000L;
+
+    /**
+     * 当前号段剩余比例低于此值时预取下一个号段
+     */
+    private static final double PREFETCH_IDLE_RATIO = 0.9;
+
+    /**
+     * 号段存储
+     */
+    private final SegmentStore segmentStore;
+
+    /**
+     * 初始号段长度，也是号段长度自适应调整的下限
+     */
+    private final int initialStep;
+
+    /**
+     * 业务标识对应的双号段缓冲
+     */
+    private final Map<String, SegmentBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * 异步预取号段的线程池
+     */
+    private final ThreadPoolExecutor prefetchExecutor;
+
+    /**
+     * 构造方法，使用默认的初始号段长度
+     *
+     * @param segmentStore 号段存储
+     */
+    public SegmentIdGenerator(SegmentStore segmentStore) {
+        this(segmentStore, DEFAULT_STEP);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param segmentStore 号段存储
+     * @param initialStep  初始号段长度
+     */
+    public SegmentIdGenerator(SegmentStore segmentStore, int initialStep) {
+        Preconditions.checkArgument(initialStep > 0 && initialStep <= MAX_STEP, "step must be in (0, 1000000]");
+        this.segmentStore = Preconditions.checkNotNull(segmentStore);
+        this.initialStep = initialStep;
+        this.prefetchExecutor = new ThreadPoolExecutor(1, 4, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("SegmentIdGenerator-prefetch"));
+        this.prefetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 生成业务标识对应的下一个ID
+     *
+     * @param bizTag 业务标识
+     * @return ID
+     */
+    public long nextId(String bizTag) {
+        SegmentBuffer buffer = buffers.get(bizTag);
+        if (buffer == null) {
+            buffer = buffers.computeIfAbsent(bizTag, SegmentBuffer::new);
+        }
+        if (!buffer.initialized) {
+            synchronized (buffer) {
+                if (!buffer.initialized) {
+                    updateSegment(buffer, buffer.current());
+                    buffer.initialized = true;
+                }
+            }
+        }
+        return nextIdFromBuffer(buffer);
+    }
+
+    /**
+     * 从双号段缓冲中取ID
+     *
+     * @param buffer 双号段缓冲
+     * @return ID
+     */
+    private long nextIdFromBuffer(SegmentBuffer buffer) {
+        for (;;) {
+            buffer.lock.readLock().lock();
+            try {
+                Segment segment = buffer.current();
+                if (!buffer.nextReady && segment.idle() < PREFETCH_IDLE_RATIO * segment.step
+                        && buffer.prefetching.compareAndSet(false, true)) {
+                    prefetchExecutor.execute(() -> prefetch(buffer));
+                }
+                long value = segment.value.getAndIncrement();
+                if (value <= segment.max) {
+                    return value;
+                }
+            } finally {
+                buffer.lock.readLock().unlock();
+            }
+
+            // 当前号段已用尽，切换到下一个号段；下一个号段还未就绪且没有在预取时由当前线程同步加载
+            buffer.lock.writeLock().lock();
+            try {
+                Segment segment = buffer.current();
+                long value = segment.value.getAndIncrement();
+                if (value <= segment.max) {
+                    return value;
+                }
+                if (buffer.nextReady) {
+                    buffer.switchPos();
+                } else if (buffer.prefetching.compareAndSet(false, true)) {
+                    try {
+                        updateSegment(buffer, buffer.next());
+                    } finally {
+                        buffer.prefetching.set(false);
+                    }
+                    buffer.switchPos();
+                }
+            } finally {
+                buffer.lock.writeLock().unlock();
+            }
+            if (buffer.prefetching.get()) {
+                // 预取线程正在加载下一个号段
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * 异步预取下一个号段
+     *
+     * @param buffer 双号段缓冲
+     */
+    private void prefetch(SegmentBuffer buffer) {
+        Segment next = buffer.next();
+        boolean updated = false;
+        try {
+            updateSegment(buffer, next);
+            updated = true;
+        } catch (Exception e) {
+            log.error("预取业务标识[{}]的号段异常", buffer.bizTag, e);
+        } finally {
+            buffer.lock.writeLock().lock();
+            try {
+                if (updated) {
+                    buffer.nextReady = true;
+                }
+                buffer.prefetching.set(false);
+            } finally {
+                buffer.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 从号段存储加载号段，并根据距上次加载的间隔调整号段长度
+     *
+     * @param buffer  双号段缓冲
+     * @param segment 要加载的号段
+     */
+    private void updateSegment(SegmentBuffer buffer, Segment segment) {
+        long now = System.currentTimeMillis();
+        int step = buffer.step;
+        if (buffer.initialized) {
+            long duration = now - buffer.updateTime;
+            if (duration < SEGMENT_DURATION) {
+                step = Math.min(step * 2, MAX_STEP);
+            } else if (duration >= SEGMENT_DURATION * 2) {
+                step = Math.max(step / 2, initialStep);
+            }
+        }
+        long max = segmentStore.allocate(buffer.bizTag, step);
+        segment.max = max;
+        segment.step = step;
+        segment.value.set(max - step + 1);
+        buffer.step = step;
+        buffer.updateTime = now;
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded segment [{}, {}] for {}", max - step + 1, max, buffer.bizTag);
+        }
+    }
+
+    /**
+     * 关闭预取线程池
+     */
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 号段，[value, max]为尚未发放的ID
+     */
+    private static final class Segment {
+
+        /**
+         * 下一个发放的ID
+         */
+        private final AtomicLong value = new AtomicLong(1L);
+
+        /**
+         * 号段最大值(包含)
+         */
+        private volatile long max;
+
+        /**
+         * 号段长度
+         */
+        private volatile int step;
+
+        /**
+         * 剩余可发放的ID数量
+         */
+        private long idle() {
+            return max - value.get() + 1;
+        }
+    }
+
+    /**
+     * 双号段缓冲
+     */
+    private final class SegmentBuffer {
+
+        private final String bizTag;
+
+        private final Segment[] segments = {new Segment(), new Segment()};
+
+        /**
+         * 当前使用的号段下标
+         */
+        private volatile int currentPos;
+
+        /**
+         * 下一个号段是否已加载
+         */
+        private volatile boolean nextReady;
+
+        /**
+         * 是否已加载第一个号段
+         */
+        private volatile boolean initialized;
+
+        /**
+         * 是否正在加载下一个号段
+         */
+        private final AtomicBoolean prefetching = new AtomicBoolean(false);
+
+        /**
+         * 切换号段时使用写锁，发放ID时使用读锁
+         */
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * 当前号段长度
+         */
+        private volatile int step = initialStep;
+
+        /**
+         * 最近一次加载号段的时间
+         */
+        private volatile long updateTime;
+
+        private SegmentBuffer(String bizTag) {
+            this.bizTag = bizTag;
+        }
+
+        private Segment current() {
+            return segments[currentPos];
+        }
+
+        private Segment next() {
+            return segments[1 - currentPos];
+        }
+
+        private void switchPos() {
+            currentPos = 1 - currentPos;
+            nextReady = false;
+        }
+    }
+}
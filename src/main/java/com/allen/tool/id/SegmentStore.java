@@ -0,0 +1,20 @@
+package com.allen.tool.id;
+
+/**
+ * 号段存储，为SegmentIdGenerator按业务标识分配连续的号段
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public interface SegmentStore {
+
+    /**
+     * 将业务标识当前的最大值原子地增加step，返回增加后的最大值，分配到的号段为[返回值 - step + 1, 返回值]<br/>
+     * 业务标识不存在时从1开始分配
+     *
+     * @param bizTag 业务标识
+     * @param step   号段长度
+     * @return 增加后的最大值
+     */
+    long allocate(String bizTag, int step);
+}
@@ -0,0 +1,139 @@
+package com.allen.tool.id;
+
+import java.util.Spliterator;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static com.allen.tool.id.UidKeyGenerator.SEQUENCE_MASK;
+
+/**
+ * 按序列号段批量发放ID的辅助方法<br/>
+ * 序列号段由生成器的reserve方法预留：同一毫秒内一段连续的序列号，返回段内第一个ID，
+ * 实际预留数量为期望数量与当前毫秒剩余序列号数量中的较小值
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class UidBlocks {
+
+    /**
+     * 单个序列号段最多包含的ID数量，即一毫秒内的全部序列号
+     */
+    static final int MAX_BLOCK_SIZE = (int) (SEQUENCE_MASK + 1);
+
+    /**
+     * 禁止实例化
+     */
+    private UidBlocks() {
+
+    }
+
+    /**
+     * 计算reserve实际预留的ID数量
+     *
+     * @param first reserve返回的第一个ID
+     * @param count 期望预留的数量
+     * @return 实际预留的数量
+     */
+    static int grantedCount(long first, int count) {
+        return (int) Math.min(count, SEQUENCE_MASK - (first & SEQUENCE_MASK) + 1);
+    }
+
+    /**
+     * 批量生成ID，每个序列号段只需要一次reserve
+     *
+     * @param n       生成数量
+     * @param reserve 预留序列号段的方法
+     * @return ID数组
+     */
+    static long[] generate(int n, IntToLongFunction reserve) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        long[] keys = new long[n];
+        int index = 0;
+        while (index < n) {
+            int count = Math.min(n - index, MAX_BLOCK_SIZE);
+            long first = reserve.applyAsLong(count);
+            int granted = grantedCount(first, count);
+            for (int i = 0; i < granted; i++) {
+                keys[index++] = first + i;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 以流的形式批量生成ID，消费时按序列号段预留，不分配中间数组
+     *
+     * @param n       生成数量
+     * @param reserve 预留序列号段的方法
+     * @return ID流
+     */
+    static LongStream stream(long n, IntToLongFunction reserve) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        return StreamSupport.longStream(new BlockSpliterator(n, reserve), false);
+    }
+
+    /**
+     * 按序列号段发放ID的Spliterator，不支持拆分
+     */
+    private static final class BlockSpliterator implements Spliterator.OfLong {
+
+        private final IntToLongFunction reserve;
+
+        /**
+         * 尚未发放的ID数量
+         */
+        private long remaining;
+
+        /**
+         * 当前序列号段中下一个可发放的ID
+         */
+        private long next;
+
+        /**
+         * 当前序列号段结束ID(不包含)
+         */
+        private long end;
+
+        BlockSpliterator(long n, IntToLongFunction reserve) {
+            this.remaining = n;
+            this.reserve = reserve;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (remaining == 0) {
+                return false;
+            }
+            if (next == end) {
+                int count = (int) Math.min(remaining, MAX_BLOCK_SIZE);
+                next = reserve.applyAsLong(count);
+                end = next + grantedCount(next, count);
+            }
+            remaining--;
+            action.accept(next++);
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+}
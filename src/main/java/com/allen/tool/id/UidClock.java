@@ -0,0 +1,51 @@
+package com.allen.tool.id;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * UID生成器使用的时钟，毫秒精度
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface UidClock {
+
+    /**
+     * 系统时钟，直接读取System.currentTimeMillis()
+     */
+    UidClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * 等待时的最小休眠时间，单位纳秒
+     */
+    long MIN_BACKOFF_NANOS = 10_000L;
+
+    /**
+     * 等待时的最大休眠时间，单位纳秒
+     */
+    long MAX_BACKOFF_NANOS = 250_000L;
+
+    /**
+     * 当前时间戳
+     *
+     * @return 毫秒时间戳
+     */
+    long currentTimeMillis();
+
+    /**
+     * 等待到时钟晚于给定的时间戳，等待期间使用指数退避的park，不占用CPU自旋
+     *
+     * @param millis 给定的毫秒时间戳
+     * @return 晚于给定时间戳的当前时间戳
+     */
+    default long waitUntilAfter(long millis) {
+        long backoffNanos = MIN_BACKOFF_NANOS;
+        long time;
+        while ((time = currentTimeMillis()) <= millis) {
+            LockSupport.parkNanos(backoffNanos);
+            backoffNanos = Math.min(backoffNanos << 1, MAX_BACKOFF_NANOS);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,87 @@
+package com.allen.tool.id;
+
+import static com.allen.tool.id.UidKeyGenerator.EPOCH;
+import static com.allen.tool.id.UidKeyGenerator.SEQUENCE_MASK;
+import static com.allen.tool.id.UidKeyGenerator.TIMESTAMP_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_LEFT_SHIFT_BITS;
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_MAX_VALUE;
+
+/**
+ * UID解析工具类，将UidGenerator生成的ID拆分为时间戳、workerId及序列号<br/>
+ * 所有方法只做位运算，不创建任何对象，可以在热点路径及日志采样中使用
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class UidDecoder {
+
+    private static final long WORKER_ID_MASK = (1L << WORKER_ID_BITS) - 1L;
+
+    /**
+     * 禁止实例化
+     */
+    private UidDecoder() {
+
+    }
+
+    /**
+     * 生成ID时的毫秒时间戳
+     *
+     * @param id ID
+     * @return 毫秒时间戳
+     */
+    public static long timestamp(long id) {
+        return (id >>> TIMESTAMP_LEFT_SHIFT_BITS) + EPOCH;
+    }
+
+    /**
+     * 生成ID时使用的workerId，时钟回拨切换后为备份workerId
+     *
+     * @param id ID
+     * @return workerId
+     */
+    public static long workerId(long id) {
+        return (id >>> WORKER_ID_LEFT_SHIFT_BITS) & WORKER_ID_MASK;
+    }
+
+    /**
+     * 生成ID的实例分配到的workerId，备份workerId会换算为对应的主workerId
+     *
+     * @param id ID
+     * @return 主workerId
+     */
+    public static long primaryWorkerId(long id) {
+        return workerId(id) % WORKER_ID_MAX_VALUE;
+    }
+
+    /**
+     * 生成ID时是否使用的是备份workerId，为true说明生成时发生过超出容忍范围的时钟回拨
+     *
+     * @param id ID
+     * @return 是否为备份workerId
+     */
+    public static boolean isBackupWorkerId(long id) {
+        return workerId(id) >= WORKER_ID_MAX_VALUE;
+    }
+
+    /**
+     * 同一毫秒内的序列号
+     *
+     * @param id ID
+     * @return 序列号，取值范围为0~4095
+     */
+    public static long sequence(long id) {
+        return id & SEQUENCE_MASK;
+    }
+
+    /**
+     * 转换为便于阅读的字符串，仅用于排查问题
+     *
+     * @param id ID
+     * @return 形如{timestamp=..., workerId=..., sequence=...}的字符串
+     */
+    public static String toString(long id) {
+        return "{timestamp=" + timestamp(id) + ", workerId=" + workerId(id) + ", sequence=" + sequence(id) + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.allen.tool.id;
+
+import java.util.stream.LongStream;
+
+/**
+ * UID生成器接口
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public interface UidGenerator {
+
+    /**
+     * 生成ID
+     *
+     * @return ID
+     */
+    long nextId();
+
+    /**
+     * 运行指标，包括已发放数量、序列号用尽及时钟回拨次数等
+     *
+     * @return 运行指标
+     */
+    UidMetrics getMetrics();
+
+    /**
+     * 生成ID
+     *
+     * @return ID
+     */
+    default Number generateKey() {
+        return nextId();
+    }
+
+    /**
+     * 批量生成ID，按生成顺序排列
+     *
+     * @param n 生成数量
+     * @return ID数组
+     */
+    default long[] generateKeys(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = nextId();
+        }
+        return keys;
+    }
+
+    /**
+     * 以流的形式批量生成ID，ID在消费时才生成
+     *
+     * @param n 生成数量
+     * @return ID流
+     */
+    default LongStream generateKeyStream(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        return LongStream.generate(this::nextId).limit(n);
+    }
+}
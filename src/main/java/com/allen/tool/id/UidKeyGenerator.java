@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import java.util.Calendar;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
 
 /**
  * UID生成器，百度算法
@@ -18,40 +19,40 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  */
 @Component
-public class UidKeyGenerator {
+public class UidKeyGenerator implements UidGenerator {
 	
 	private static final Logger log = LoggerFactory.getLogger(UidKeyGenerator.class);
 
-    private static final long EPOCH;
+    static final long EPOCH;
     
-    private static final long SEQUENCE_BITS = 12L;
+    static final long SEQUENCE_BITS = 12L;
     
-    private static final long WORKER_ID_BITS = 10L;
+    static final long WORKER_ID_BITS = 10L;
     
-    private static final long SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1L;
+    static final long SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1L;
     
-    private static final long WORKER_ID_LEFT_SHIFT_BITS = SEQUENCE_BITS;
+    static final long WORKER_ID_LEFT_SHIFT_BITS = SEQUENCE_BITS;
     
-    private static final long TIMESTAMP_LEFT_SHIFT_BITS = WORKER_ID_LEFT_SHIFT_BITS + WORKER_ID_BITS;
+    static final long TIMESTAMP_LEFT_SHIFT_BITS = WORKER_ID_LEFT_SHIFT_BITS + WORKER_ID_BITS;
 
     /**
      * 每台workerId服务器有3个备份workerId, 备份workerId数量越多, 可靠性越高, 但是可部署的sequence ID服务越少
      */
-    private static final long BACKUP_COUNT = 3;
+    static final long BACKUP_COUNT = 3;
 
     /**
      * 实际的最大workerId的值<br/>
      * workerId原则上上限为1024, 但是需要为每台sequence服务预留BACKUP_AMOUNT个workerId,
      */
-    private static final long WORKER_ID_MAX_VALUE = (1L << WORKER_ID_BITS) / (BACKUP_COUNT + 1);
+    static final long WORKER_ID_MAX_VALUE = (1L << WORKER_ID_BITS) / (BACKUP_COUNT + 1);
 
     /**
-     * 目前用户生成ID的workerId
+     * 未指定WorkerIdAssigner时使用的workerId
      */
-    private static long workerId;
+    private static long defaultWorkerId;
 
     static {
-        workerId = 10;
+        defaultWorkerId = 10;
         Calendar calendar = Calendar.getInstance();
         calendar.set(2018, Calendar.NOVEMBER, 1);
         calendar.set(Calendar.HOUR_OF_DAY, 0);
@@ -62,96 +63,212 @@ public class UidKeyGenerator {
         EPOCH = calendar.getTimeInMillis();
     }
     
+    /**
+     * 目前用户生成ID的workerId, 时钟回拨时会切换为备份workerId
+     */
+    private long workerId;
+
     private long sequence;
     
     private long lastTime;
 
+    /**
+     * 生成ID使用的时钟
+     */
+    private final UidClock clock;
+
+    /**
+     * workerId分配器，每次预留序列号前校验分配的workerId是否仍然有效
+     */
+    private final WorkerIdAssigner workerIdAssigner;
+
+    /**
+     * 分配器分配的workerId，时钟回拨切换备份workerId后不变
+     */
+    private final long assignedWorkerId;
+
     /**
      * 保留workerId和lastTime, 以及备用workerId和其对应的lastTime
      */
-    private static Map<Long, Long> workerIdLastTimeMap = new ConcurrentHashMap<>();
+    private final Map<Long, Long> workerIdLastTimeMap = new ConcurrentHashMap<>();
 
-    static {
-        /** 
-         * 初始化workerId和其所有备份workerId与lastTime;
-    	 * 假设workerId为0且BACKUP_AMOUNT为4, 那么map的值为: {0:0L, 256:0L, 512:0L, 768:0L};
-    	 *  假设workerId为2且BACKUP_AMOUNT为4, 那么map的值为: {2:0L, 258:0L, 514:0L, 770:0L}
-    	 * **/
-        for (int i = 0; i<= BACKUP_COUNT; i++){
-            workerIdLastTimeMap.put(workerId + (i * WORKER_ID_MAX_VALUE), 0L);
-        }
-    }
+    /**
+     * 运行指标
+     */
+    private final UidMetrics metrics = new UidMetrics();
 
     /**
      * 最大容忍时间, 单位毫秒, 即如果时钟只是回拨了该变量指定的时间, 那么等待相应的时间即可;
      * 考虑到sequence服务的高性能, 这个值不易过大
      */
-    private static final long MAX_BACKWARD_MS = 3;
+    static final long MAX_BACKWARD_MS = 3;
 
     /**
-     * Set work process id.
+     * Set work process id. 只对之后未指定WorkerIdAssigner创建的生成器生效
      * @param workerId work process id
+     * @deprecated 所有节点共用同一个默认workerId, 请使用WorkerIdAssigner为每个生成器实例分配workerId
      */
+    @Deprecated
     public static void setWorkerId(final long workerId) {
         Preconditions.checkArgument(workerId >= 0L && workerId < WORKER_ID_MAX_VALUE);
-        UidKeyGenerator.workerId = workerId;
+        UidKeyGenerator.defaultWorkerId = workerId;
     }
     
     /**
-     * 是否允许等待
-     * @return
+     * 构造方法，使用默认workerId及系统时钟
+     */
+    public UidKeyGenerator() {
+        this(UidClock.SYSTEM);
+    }
+
+    /**
+     * 构造方法，使用默认workerId
+     *
+     * @param clock 生成ID使用的时钟，如CachedMillisClock
      */
-    private Boolean isAllowWait(){
-        long timeDifference = lastTime - System.currentTimeMillis();
-        return timeDifference > 0 && timeDifference < MAX_BACKWARD_MS;
-        
+    public UidKeyGenerator(UidClock clock) {
+        this(() -> defaultWorkerId, clock);
+    }
+
+    /**
+     * 构造方法，使用系统时钟
+     *
+     * @param workerIdAssigner workerId分配器
+     */
+    public UidKeyGenerator(WorkerIdAssigner workerIdAssigner) {
+        this(workerIdAssigner, UidClock.SYSTEM);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param workerIdAssigner workerId分配器
+     * @param clock            生成ID使用的时钟，如CachedMillisClock
+     */
+    public UidKeyGenerator(WorkerIdAssigner workerIdAssigner, UidClock clock) {
+        this.clock = Preconditions.checkNotNull(clock);
+        this.workerIdAssigner = workerIdAssigner;
+        this.workerId = workerIdAssigner.assignWorkerId();
+        Preconditions.checkArgument(workerId >= 0L && workerId < WORKER_ID_MAX_VALUE);
+        this.assignedWorkerId = workerId;
+        /** 
+         * 初始化workerId和其所有备份workerId与lastTime;
+    	 * 假设workerId为0且BACKUP_AMOUNT为4, 那么map的值为: {0:0L, 256:0L, 512:0L, 768:0L};
+    	 *  假设workerId为2且BACKUP_AMOUNT为4, 那么map的值为: {2:0L, 258:0L, 514:0L, 770:0L}
+    	 * **/
+        for (int i = 0; i<= BACKUP_COUNT; i++){
+            workerIdLastTimeMap.put(workerId + (i * WORKER_ID_MAX_VALUE), 0L);
+        }
+    }
+
+    /**
+     * 当前用于生成ID的workerId
+     *
+     * @return workerId, 时钟回拨切换后为备份workerId
+     */
+    public synchronized long getWorkerId() {
+        return workerId;
+    }
+
+    @Override
+    public UidMetrics getMetrics() {
+        return metrics;
     }
     
     /**
      * Generate key. 考虑时钟回拨, 与sharding-jdbc源码的区别就在这里</br>
      * 缺陷: 如果连续两次时钟回拨, 可能还是会有问题, 但是这种概率极低极低
-     * @return key type is @{@link Long}.
+     * @return key
      * @Author 阿飞
      */
-//    @Override
-    public synchronized Number generateKey() {
-        long currentMillis = System.currentTimeMillis();
+    @Override
+    public long nextId() {
+        return reserve(1);
+    }
+
+    /**
+     * 批量生成ID，每个序列号段只需要进入一次临界区
+     *
+     * @param n 生成数量
+     * @return ID数组
+     */
+    @Override
+    public long[] generateKeys(int n) {
+        return UidBlocks.generate(n, this::reserve);
+    }
+
+    @Override
+    public LongStream generateKeyStream(long n) {
+        return UidBlocks.stream(n, this::reserve);
+    }
+
+    /**
+     * 在同一毫秒内预留一段连续的序列号，返回段内第一个ID<br/>
+     * 实际预留的数量为count与当前毫秒剩余序列号数量中的较小值，可通过UidBlocks.grantedCount计算；
+     * 需要等待时钟前进时在锁外park等待，不阻塞其他调用方
+     *
+     * @param count 期望预留的数量，取值范围为1~4096
+     * @return 段内第一个ID
+     */
+    private long reserve(int count) {
+        for (;;) {
+            long first = tryReserve(count);
+            if (first >= 0) {
+                return first;
+            }
+            metrics.waitUntilAfter(clock, -first);
+        }
+    }
+
+    /**
+     * 尝试预留一段连续的序列号
+     *
+     * @param count 期望预留的数量，取值范围为1~4096
+     * @return 段内第一个ID；需要等待时返回负数，其绝对值为需要等待超过的时间戳
+     * @throws IllegalStateException 如果分配的workerId已失效
+     */
+    private synchronized long tryReserve(int count) {
+        checkLease();
+        long currentMillis = clock.currentTimeMillis();
         // 当发生时钟回拨时
         if (lastTime > currentMillis){
-            // 如果时钟回拨在可接受范围内, 等待即可
+            metrics.recordBackwardClock();
+            // 如果时钟回拨在可接受范围内, 等待到lastTime即可
             if (lastTime - currentMillis < MAX_BACKWARD_MS){
-                try {
-                    while (isAllowWait()) {
-                        this.wait(lastTime - currentMillis);
-                    }
-                } catch (InterruptedException e) {
-                    log.error("error",this,e);
-                    Thread.currentThread().interrupt();
-                }
+                return -(lastTime - 1);
             }else {
                 tryGenerateKeyOnBackup(currentMillis);
             }
         }
 
+        long firstSequence;
         // 如果和最后一次请求处于同一毫秒, 那么sequence+1
         if (lastTime == currentMillis) {
-            if (0L == (sequence = ++sequence & SEQUENCE_MASK)) {
-                currentMillis = waitUntilNextTime(currentMillis);
+            if (0L == (firstSequence = (sequence + 1) & SEQUENCE_MASK)) {
+                // 当前毫秒的序列号已用尽, 等待到下一毫秒
+                metrics.recordSequenceExhaustion();
+                return -lastTime;
             }
         } else {
             // 如果是一个更近的时间戳, 那么sequence归零
-            sequence = 0;
+            firstSequence = 0;
         }
+        sequence = firstSequence + Math.min(count, SEQUENCE_MASK + 1 - firstSequence) - 1;
 
         lastTime = currentMillis;
         // 更新map中保存的workerId对应的lastTime
-        workerIdLastTimeMap.put(UidKeyGenerator.workerId, lastTime);
+        workerIdLastTimeMap.put(workerId, lastTime);
+        metrics.recordIssued(workerId, sequence - firstSequence + 1);
+        return ((currentMillis - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS) | (workerId << WORKER_ID_LEFT_SHIFT_BITS) | firstSequence;
+    }
 
-        if (log.isDebugEnabled()) {
-            //log.debug("{}-{}-{}", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(lastTime)),
-//                    workerId, sequence);
+    /**
+     * 分配器判断workerId已失效时停止发放ID，如租约过期后可能已被其他实例接管
+     */
+    private void checkLease() {
+        if (!workerIdAssigner.isValid(assignedWorkerId)) {
+            throw new IllegalStateException("Lease of workerId " + assignedWorkerId + " is lost or expired");
         }
-        return ((currentMillis - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS) | (workerId << WORKER_ID_LEFT_SHIFT_BITS) | sequence;
     }
 
     /**
@@ -161,12 +278,15 @@ public class UidKeyGenerator {
     private long tryGenerateKeyOnBackup(long currentMillis){
         // 遍历所有workerId(包括备用workerId, 查看哪些workerId可用)
         for (Map.Entry<Long, Long> entry:workerIdLastTimeMap.entrySet()){
-        	UidKeyGenerator.setWorkerId(entry.getKey());
+            workerId = entry.getKey();
             // 取得备用workerId的lastTime
             lastTime = entry.getValue() == null ? 0L : entry.getValue();
 
             // 如果找到了合适的workerId
             if (lastTime<=currentMillis){
+                // 备份workerId在lastTime时使用过的序列号未知, 与其处于同一毫秒时等待到下一毫秒
+                sequence = SEQUENCE_MASK;
+                metrics.recordBackupSwitch();
                 return lastTime;
             }
         }
@@ -176,14 +296,6 @@ public class UidKeyGenerator {
                 +currentMillis+" milliseconds, workerId map = " + workerIdLastTimeMap);
     }
     
-    private long waitUntilNextTime(final long lastTime) {
-        long time = System.currentTimeMillis();
-        while (time <= lastTime) {
-            time = System.currentTimeMillis();
-        }
-        return time;
-    }
-    
     
     public static void main(String[] args) {
     	UidKeyGenerator g = new UidKeyGenerator();
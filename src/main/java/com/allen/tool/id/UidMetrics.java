@@ -0,0 +1,174 @@
+package com.allen.tool.id;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.allen.tool.id.UidKeyGenerator.WORKER_ID_BITS;
+
+/**
+ * UID生成器的运行指标，每个生成器实例一份，用于评估距离每毫秒4096个ID的上限还有多少余量<br/>
+ * 计数器全部基于LongAdder，多线程写入时分散到不同的cell，不会成为新的竞争点；
+ * 指标只增不减，采集方按固定间隔调用snapshot()后自行计算速率
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class UidMetrics {
+
+    /**
+     * 已发放的ID数量
+     */
+    private final LongAdder issued = new LongAdder();
+
+    /**
+     * 当前毫秒序列号用尽的次数，CachedUidGenerator为借用未来时间戳的次数
+     */
+    private final LongAdder sequenceExhaustions = new LongAdder();
+
+    /**
+     * 等待时钟前进的次数
+     */
+    private final LongAdder waits = new LongAdder();
+
+    /**
+     * 等待时钟前进的总耗时，单位纳秒
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * 检测到时钟回拨的次数，包括容忍范围内等待及切换备份workerId两种情况
+     */
+    private final LongAdder backwardClockEvents = new LongAdder();
+
+    /**
+     * 切换到备份workerId的次数
+     */
+    private final LongAdder backupSwitches = new LongAdder();
+
+    /**
+     * 按workerId(含备份workerId)统计的已发放ID数量，下标为workerId，首次使用时创建
+     */
+    private final AtomicReferenceArray<LongAdder> issuedByWorker = new AtomicReferenceArray<>(1 << WORKER_ID_BITS);
+
+    /**
+     * 记录发放的ID
+     *
+     * @param workerId 生成ID使用的workerId
+     * @param count    发放数量
+     */
+    void recordIssued(long workerId, long count) {
+        issued.add(count);
+        int index = (int) workerId;
+        LongAdder adder = issuedByWorker.get(index);
+        if (adder == null) {
+            issuedByWorker.compareAndSet(index, null, new LongAdder());
+            adder = issuedByWorker.get(index);
+        }
+        adder.add(count);
+    }
+
+    /**
+     * 记录一次序列号用尽
+     */
+    void recordSequenceExhaustion() {
+        sequenceExhaustions.increment();
+    }
+
+    /**
+     * 记录一次时钟回拨
+     */
+    void recordBackwardClock() {
+        backwardClockEvents.increment();
+    }
+
+    /**
+     * 记录一次备份workerId切换
+     */
+    void recordBackupSwitch() {
+        backupSwitches.increment();
+    }
+
+    /**
+     * 等待到时钟晚于给定的时间戳，并记录等待次数及耗时
+     *
+     * @param clock  时钟
+     * @param millis 给定的毫秒时间戳
+     * @return 晚于给定时间戳的当前时间戳
+     */
+    long waitUntilAfter(UidClock clock, long millis) {
+        long start = System.nanoTime();
+        try {
+            return clock.waitUntilAfter(millis);
+        } finally {
+            waits.increment();
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public long getIssued() {
+        return issued.sum();
+    }
+
+    public long getSequenceExhaustions() {
+        return sequenceExhaustions.sum();
+    }
+
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getBackwardClockEvents() {
+        return backwardClockEvents.sum();
+    }
+
+    public long getBackupSwitches() {
+        return backupSwitches.sum();
+    }
+
+    /**
+     * 按workerId统计的已发放ID数量
+     *
+     * @return key为workerId，value为已发放数量，按workerId升序
+     */
+    public Map<Long, Long> getIssuedByWorker() {
+        Map<Long, Long> result = new TreeMap<>();
+        for (int i = 0; i < issuedByWorker.length(); i++) {
+            LongAdder adder = issuedByWorker.get(i);
+            if (adder != null) {
+                result.put((long) i, adder.sum());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 所有指标的快照，供监控系统采集
+     *
+     * @return key为指标名，按固定顺序排列
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("issued", getIssued());
+        result.put("sequenceExhaustions", getSequenceExhaustions());
+        result.put("waits", getWaits());
+        result.put("waitNanos", getWaitNanos());
+        result.put("backwardClockEvents", getBackwardClockEvents());
+        result.put("backupSwitches", getBackupSwitches());
+        for (Map.Entry<Long, Long> entry : getIssuedByWorker().entrySet()) {
+            result.put("issued.worker." + entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "UidMetrics" + snapshot();
+    }
+}
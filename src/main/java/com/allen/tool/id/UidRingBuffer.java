@@ -0,0 +1,281 @@
+package com.allen.tool.id;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 预生成UID的环形缓冲区，百度CachedUidGenerator中RingBuffer的实现<br/>
+ * slots保存预生成的UID，flags标记对应slot当前可写还是可读；tail为最后一个写入的位置，cursor为最后一个读取的位置，
+ * 写入由填充线程串行完成，读取通过CAS推进cursor，不需要加锁
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public class UidRingBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(UidRingBuffer.class);
+
+    /**
+     * tail和cursor的初始位置
+     */
+    private static final int START_POINT = -1;
+
+    /**
+     * slot可写入标记
+     */
+    private static final long CAN_PUT_FLAG = 0L;
+
+    /**
+     * slot可读取标记
+     */
+    private static final long CAN_TAKE_FLAG = 1L;
+
+    /**
+     * 缓冲区为空时tryTake的返回值，生成的UID最高位为0，不会与之冲突
+     */
+    public static final long EMPTY = -1L;
+
+    /**
+     * 缓冲区大小，必须为2的幂
+     */
+    private final int bufferSize;
+
+    /**
+     * 取slot下标的掩码
+     */
+    private final long indexMask;
+
+    /**
+     * 预生成的UID
+     */
+    private final long[] slots;
+
+    /**
+     * slot的读写标记
+     */
+    private final PaddedAtomicLong[] flags;
+
+    /**
+     * 最后一个写入的位置
+     */
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(START_POINT);
+
+    /**
+     * 最后一个读取的位置
+     */
+    private final PaddedAtomicLong cursor = new PaddedAtomicLong(START_POINT);
+
+    /**
+     * 剩余可读取的UID数量低于此值时触发异步填充
+     */
+    private final int paddingThreshold;
+
+    /**
+     * 缓冲区已满时的写入拒绝策略
+     */
+    private RejectedPutHandler rejectedPutHandler = this::discardPutBuffer;
+
+    /**
+     * 缓冲区为空时的读取拒绝策略
+     */
+    private RejectedTakeHandler rejectedTakeHandler = this::exceptionRejectedTakeBuffer;
+
+    /**
+     * 异步填充触发器
+     */
+    private Runnable paddingTrigger;
+
+    /**
+     * 构造方法
+     *
+     * @param bufferSize    缓冲区大小，必须为2的幂
+     * @param paddingFactor 填充阈值百分比，取值范围为1~99
+     */
+    public UidRingBuffer(int bufferSize, int paddingFactor) {
+        Preconditions.checkArgument(bufferSize > 0L, "RingBuffer size must be positive");
+        Preconditions.checkArgument(Integer.bitCount(bufferSize) == 1, "RingBuffer size must be a power of 2");
+        Preconditions.checkArgument(paddingFactor > 0 && paddingFactor < 100, "RingBuffer padding factor must be in (0, 100)");
+
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.slots = new long[bufferSize];
+        this.flags = new PaddedAtomicLong[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            flags[i] = new PaddedAtomicLong(CAN_PUT_FLAG);
+        }
+        this.paddingThreshold = bufferSize * paddingFactor / 100;
+    }
+
+    /**
+     * 写入一个UID，只允许单个填充线程调用
+     *
+     * @param uid UID
+     * @return 缓冲区已满时返回false
+     */
+    public synchronized boolean put(long uid) {
+        long currentTail = tail.get();
+        long currentCursor = cursor.get();
+
+        // 缓冲区已满时拒绝写入
+        long distance = currentTail - (currentCursor == START_POINT ? 0 : currentCursor);
+        if (distance == bufferSize - 1) {
+            rejectedPutHandler.rejectPutBuffer(this, uid);
+            return false;
+        }
+
+        // 下一个写入位置的UID还未被读取
+        int nextTailIndex = calSlotIndex(currentTail + 1);
+        if (flags[nextTailIndex].get() != CAN_PUT_FLAG) {
+            rejectedPutHandler.rejectPutBuffer(this, uid);
+            return false;
+        }
+
+        // 先写slot再改标记，最后推进tail，保证读取到tail之前的slot都是已写入的
+        slots[nextTailIndex] = uid;
+        flags[nextTailIndex].set(CAN_TAKE_FLAG);
+        tail.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 读取一个UID，剩余可读数量低于填充阈值时触发异步填充，缓冲区为空时交由读取拒绝策略处理
+     *
+     * @return UID
+     */
+    public long take() {
+        long uid = tryTake();
+        if (uid == EMPTY) {
+            return rejectedTakeHandler.rejectTakeBuffer(this);
+        }
+        return uid;
+    }
+
+    /**
+     * 读取一个UID，剩余可读数量低于填充阈值时触发异步填充，缓冲区为空时返回-1
+     *
+     * @return UID，缓冲区为空时返回-1
+     */
+    public long tryTake() {
+        long currentCursor;
+        long currentTail;
+        do {
+            currentCursor = cursor.get();
+            currentTail = tail.get();
+            // cursor已追上tail，缓冲区为空
+            if (currentCursor == currentTail) {
+                triggerPadding(currentTail, currentCursor);
+                return EMPTY;
+            }
+        } while (!cursor.compareAndSet(currentCursor, currentCursor + 1));
+
+        long nextCursor = currentCursor + 1;
+        triggerPadding(currentTail, nextCursor);
+
+        int nextCursorIndex = calSlotIndex(nextCursor);
+        long uid = slots[nextCursorIndex];
+        flags[nextCursorIndex].set(CAN_PUT_FLAG);
+        return uid;
+    }
+
+    /**
+     * 剩余可读取的UID数量低于填充阈值时触发异步填充
+     *
+     * @param currentTail   当前tail
+     * @param currentCursor 当前cursor
+     */
+    private void triggerPadding(long currentTail, long currentCursor) {
+        if (currentTail - currentCursor < paddingThreshold && paddingTrigger != null) {
+            paddingTrigger.run();
+        }
+    }
+
+    /**
+     * 计算位置对应的slot下标
+     *
+     * @param sequence 位置
+     * @return slot下标
+     */
+    private int calSlotIndex(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+
+    /**
+     * 默认的写入拒绝策略：丢弃。填充时写满缓冲区是正常的结束条件，只记录debug日志
+     */
+    private void discardPutBuffer(UidRingBuffer ringBuffer, long uid) {
+        log.debug("Rejected putting buffer for uid:{}. {}", uid, ringBuffer);
+    }
+
+    /**
+     * 默认的读取拒绝策略：抛出异常
+     */
+    private long exceptionRejectedTakeBuffer(UidRingBuffer ringBuffer) {
+        log.warn("Rejected take buffer. {}", ringBuffer);
+        throw new IllegalStateException("Rejected take buffer. " + ringBuffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getPaddingThreshold() {
+        return paddingThreshold;
+    }
+
+    public long getTail() {
+        return tail.get();
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public void setRejectedPutHandler(RejectedPutHandler rejectedPutHandler) {
+        this.rejectedPutHandler = rejectedPutHandler;
+    }
+
+    public void setRejectedTakeHandler(RejectedTakeHandler rejectedTakeHandler) {
+        this.rejectedTakeHandler = rejectedTakeHandler;
+    }
+
+    public void setPaddingTrigger(Runnable paddingTrigger) {
+        this.paddingTrigger = paddingTrigger;
+    }
+
+    @Override
+    public String toString() {
+        return "UidRingBuffer [bufferSize=" + bufferSize + ", tail=" + tail.get() + ", cursor=" + cursor.get()
+                + ", paddingThreshold=" + paddingThreshold + "]";
+    }
+
+    /**
+     * 缓冲区已满时的写入拒绝策略
+     */
+    @FunctionalInterface
+    public interface RejectedPutHandler {
+
+        /**
+         * 拒绝写入
+         *
+         * @param ringBuffer 环形缓冲区
+         * @param uid        被拒绝写入的UID
+         */
+        void rejectPutBuffer(UidRingBuffer ringBuffer, long uid);
+    }
+
+    /**
+     * 缓冲区为空时的读取拒绝策略
+     */
+    @FunctionalInterface
+    public interface RejectedTakeHandler {
+
+        /**
+         * 拒绝读取，可抛出异常，也可以返回通过其他方式得到的UID
+         *
+         * @param ringBuffer 环形缓冲区
+         * @return 替代的UID
+         */
+        long rejectTakeBuffer(UidRingBuffer ringBuffer);
+    }
+}
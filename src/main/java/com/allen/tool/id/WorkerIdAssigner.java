@@ -0,0 +1,39 @@
+package com.allen.tool.id;
+
+/**
+ * workerId分配器，每个UID生成器实例在创建时通过分配器获取自己独占的workerId<br/>
+ * 分配的workerId取值范围为[0, 256)，每个workerId另有3个备份workerId用于时钟回拨，不需要单独分配
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface WorkerIdAssigner {
+
+    /**
+     * 分配一个workerId，同一分配器多次调用返回不同的workerId
+     *
+     * @return workerId
+     */
+    long assignWorkerId();
+
+    /**
+     * 释放已分配的workerId，默认不做任何处理
+     *
+     * @param workerId workerId
+     */
+    default void releaseWorkerId(long workerId) {
+
+    }
+
+    /**
+     * 已分配的workerId是否仍由当前实例持有，生成器每次发放ID前校验，返回false时生成器不再发放ID，
+     * 避免租约过期被其他实例接管后生成重复的ID。默认始终有效
+     *
+     * @param workerId 已分配的workerId
+     * @return true-有效；false-已失效
+     */
+    default boolean isValid(long workerId) {
+        return true;
+    }
+}
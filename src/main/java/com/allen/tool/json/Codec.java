@@ -0,0 +1,72 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 对象序列化编解码器，与JsonUtil的object2Json/json2Object对应，数据格式由实现决定，如Json、Smile、CBOR<br/>
+ * 通过Codecs获取，各实现的配置与JsonUtil一致，包括JavaTimeModule、反序列化时忽略未知属性等宽松配置及@Sensitive脱敏。
+ * 实现是线程安全的
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public interface Codec {
+
+    /**
+     * 数据格式名称，如json、smile、cbor
+     *
+     * @return 数据格式名称
+     */
+    String getFormat();
+
+    /**
+     * 将对象编码为字节数组
+     *
+     * @param object 要编码的对象
+     * @return 编码后的字节数组
+     * @throws RuntimeException
+     */
+    byte[] object2Bytes(Object object);
+
+    /**
+     * 将对象编码后写出到输出流，不关闭输出流
+     *
+     * @param object 要编码的对象
+     * @param out    输出流
+     * @throws RuntimeException
+     */
+    void object2Bytes(Object object, OutputStream out);
+
+    /**
+     * 将字节数组解码为指定类型的对象
+     *
+     * @param bytes 编码后的字节数组
+     * @param clazz 指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
+     */
+    <T> T bytes2Object(byte[] bytes, Class<T> clazz);
+
+    /**
+     * 将字节数组解码为自定义类型或复杂类型的对象
+     *
+     * @param bytes        编码后的字节数组
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return 给定类型的对象
+     * @throws RuntimeException
+     */
+    <T> T bytes2Object(byte[] bytes, TypeReference<T> valueTypeRef);
+
+    /**
+     * 从输入流读取并解码为指定类型的对象，不关闭输入流
+     *
+     * @param in    输入流
+     * @param clazz 指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
+     */
+    <T> T bytes2Object(InputStream in, Class<T> clazz);
+}
@@ -0,0 +1,84 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 编解码器工厂，各编解码器的配置与JsonUtil一致<br/>
+ * Smile及CBOR是Jackson支持的二进制Json格式，与Json文本相比体积更小、解析更快，适合缓存及进程间传输等不需要人工阅读的场景；
+ * 每种格式在第一次使用时创建，只使用Json时不需要Smile及CBOR的依赖。其他Jackson数据格式，如MessagePack，
+ * 可以通过create(String, JsonFactory)创建
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class Codecs {
+
+    /**
+     * 禁止实例化
+     */
+    private Codecs() {
+
+    }
+
+    /**
+     * Json文本格式，与JsonUtil共用同一个ObjectMapper
+     *
+     * @return Json编解码器
+     */
+    public static Codec json() {
+        return JsonHolder.CODEC;
+    }
+
+    /**
+     * Json编解码器，JsonUtil通过它共用ObjectReader及ObjectWriter的缓存
+     */
+    static JacksonCodec jsonCodec() {
+        return JsonHolder.CODEC;
+    }
+
+    /**
+     * Smile二进制格式，需要jackson-dataformat-smile
+     *
+     * @return Smile编解码器
+     */
+    public static Codec smile() {
+        return SmileHolder.CODEC;
+    }
+
+    /**
+     * CBOR(RFC 8949)二进制格式，需要jackson-dataformat-cbor
+     *
+     * @return CBOR编解码器
+     */
+    public static Codec cbor() {
+        return CborHolder.CODEC;
+    }
+
+    /**
+     * 使用给定的数据格式创建编解码器，配置与JsonUtil一致，创建开销较大，需要由调用方保存后复用
+     *
+     * @param format  数据格式名称，用于日志及异常信息
+     * @param factory 数据格式对应的JsonFactory
+     * @return 编解码器
+     */
+    public static Codec create(String format, JsonFactory factory) {
+        return new JacksonCodec(format, JsonUtil.createObjectMapper(factory));
+    }
+
+    private static final class JsonHolder {
+
+        private static final JacksonCodec CODEC = new JacksonCodec("json", JsonUtil.getObjectMapper());
+    }
+
+    private static final class SmileHolder {
+
+        private static final Codec CODEC = create("smile", new SmileFactory());
+    }
+
+    private static final class CborHolder {
+
+        private static final Codec CODEC = create("cbor", new CBORFactory());
+    }
+}
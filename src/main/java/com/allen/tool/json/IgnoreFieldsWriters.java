@@ -0,0 +1,204 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.std.MapSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.MapType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 忽略给定属性的Json序列化，供JsonUtil.object2Json(Object, List)使用<br/>
+ * 基于JsonUtil的ObjectMapper复制一份配置相同的ObjectMapper，为所有Bean及Map的序列化器指定同一个过滤器，
+ * 序列化时由过滤器跳过名称在忽略列表中的属性及Map的key，任意层级都生效，一次写出结果，不生成中间对象；
+ * JsonNode由专门的序列化器跳过ObjectNode中的字段。自定义JsonSerializer自行写出的字段不经过过滤器，不会被忽略。
+ * 每个忽略列表对应的ObjectWriter缓存后复用，序列化器由复制的ObjectMapper统一缓存
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class IgnoreFieldsWriters {
+
+    /**
+     * 过滤器ID
+     */
+    private static final String FILTER_ID = "com.allen.tool.json.IgnoreFields";
+
+    /**
+     * 最多缓存的忽略列表个数，超过后新的忽略列表每次创建ObjectWriter
+     */
+    private static final int MAX_CACHED_WRITERS = 256;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 忽略列表对应的ObjectWriter
+     */
+    private final Map<List<String>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    IgnoreFieldsWriters(ObjectMapper baseMapper) {
+        objectMapper = baseMapper.copy();
+        // 类自身通过@JsonFilter指定的过滤器优先，其余类及属性使用FILTER_ID
+        objectMapper.setAnnotationIntrospector(AnnotationIntrospector
+                .pair(objectMapper.getSerializationConfig().getAnnotationIntrospector(), new FilterIdIntrospector()));
+        SimpleModule module = new SimpleModule("IgnoreFieldsModule");
+        module.setSerializerModifier(new IgnoreFieldsModifier());
+        objectMapper.registerModule(module);
+    }
+
+    /**
+     * 获取忽略给定属性的ObjectWriter
+     *
+     * @param ignoreFields 需要忽略的属性列表
+     * @return ObjectWriter
+     */
+    ObjectWriter writerFor(List<String> ignoreFields) {
+        ObjectWriter writer = writers.get(ignoreFields);
+        if (writer != null) {
+            return writer;
+        }
+        writer = objectMapper.writer(new IgnoreFieldsFilterProvider(new HashSet<>(ignoreFields)));
+        if (writers.size() < MAX_CACHED_WRITERS) {
+            ObjectWriter previous = writers.putIfAbsent(new ArrayList<>(ignoreFields), writer);
+            if (previous != null) {
+                writer = previous;
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * 为没有指定过滤器的类及属性指定FILTER_ID
+     */
+    private static final class FilterIdIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            return FILTER_ID;
+        }
+    }
+
+    /**
+     * 为Map的序列化器指定FILTER_ID，包括不属于任何Bean属性的Map，如根对象及集合中的Map；JsonNode使用JsonNodeSerializer
+     */
+    private static final class IgnoreFieldsModifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (JsonNode.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                return new JsonNodeSerializer();
+            }
+            return serializer;
+        }
+
+        @Override
+        public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType valueType,
+                                                     BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            if (serializer instanceof MapSerializer) {
+                return ((MapSerializer) serializer).withFilterId(FILTER_ID);
+            }
+            return serializer;
+        }
+    }
+
+    /**
+     * 跳过ObjectNode中名称在忽略列表中的字段，任意层级都生效，其他节点按原样写出
+     */
+    private static final class JsonNodeSerializer extends StdSerializer<JsonNode> {
+
+        private static final long serialVersionUID = 1L;
+
+        private JsonNodeSerializer() {
+            super(JsonNode.class);
+        }
+
+        @Override
+        public void serialize(JsonNode node, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            FilterProvider filterProvider = provider.getFilterProvider();
+            if (filterProvider instanceof IgnoreFieldsFilterProvider) {
+                write(node, ((IgnoreFieldsFilterProvider) filterProvider).ignoreFields, gen, provider);
+            } else {
+                ((JsonSerializable) node).serialize(gen, provider);
+            }
+        }
+
+        private static void write(JsonNode node, Set<String> ignoreFields, JsonGenerator gen,
+                                  SerializerProvider provider) throws IOException {
+            if (node.isObject()) {
+                gen.writeStartObject();
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (!ignoreFields.contains(field.getKey())) {
+                        gen.writeFieldName(field.getKey());
+                        write(field.getValue(), ignoreFields, gen, provider);
+                    }
+                }
+                gen.writeEndObject();
+            } else if (node.isArray()) {
+                gen.writeStartArray();
+                for (JsonNode element : node) {
+                    write(element, ignoreFields, gen, provider);
+                }
+                gen.writeEndArray();
+            } else {
+                // 标量节点；POJONode中的对象仍由复制的ObjectMapper序列化，同样会被过滤
+                ((JsonSerializable) node).serialize(gen, provider);
+            }
+        }
+    }
+
+    /**
+     * 所有过滤器ID都使用同一个过滤器，继承SimpleFilterProvider以复用其对已废弃的findFilter的实现
+     */
+    private static final class IgnoreFieldsFilterProvider extends SimpleFilterProvider {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 需要忽略的属性，JsonNodeSerializer直接使用
+         */
+        private final Set<String> ignoreFields;
+
+        private final PropertyFilter filter;
+
+        private IgnoreFieldsFilterProvider(Set<String> ignoreFields) {
+            this.ignoreFields = ignoreFields;
+            this.filter = SimpleBeanPropertyFilter.serializeAllExcept(ignoreFields);
+        }
+
+        @Override
+        public PropertyFilter findPropertyFilter(Object filterId, Object valueToFilter) {
+            return filter;
+        }
+    }
+}
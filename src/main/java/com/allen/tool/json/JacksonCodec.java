@@ -0,0 +1,168 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于Jackson ObjectMapper的编解码器，数据格式由ObjectMapper的JsonFactory决定<br/>
+ * 按类型缓存ObjectReader及ObjectWriter，写出时按对象的实际类型查找；JsonUtil的readerFor、writerFor使用Json编解码器的缓存
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class JacksonCodec implements Codec {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JacksonCodec.class);
+
+    /**
+     * 最多缓存的TypeReference类型个数，超过后新的类型每次创建ObjectReader
+     */
+    private static final int MAX_CACHED_TYPES = 1024;
+
+    private final String format;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 类型对应的ObjectReader
+     */
+    private final ClassValue<ObjectReader> readers = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    /**
+     * 对象的实际类型对应的ObjectWriter
+     */
+    private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type);
+        }
+    };
+
+    /**
+     * TypeReference的类型对应的ObjectReader，同一泛型类型的不同TypeReference实例共用同一个ObjectReader
+     */
+    private final Map<Type, ObjectReader> typeReaders = new ConcurrentHashMap<>();
+
+    JacksonCodec(String format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public byte[] object2Bytes(Object object) {
+        try {
+            return writerForValue(object).writeValueAsBytes(object);
+        } catch (IOException e) {
+            LOGGER.error("将对象[{}]编码为{}时发生异常", object, format, e);
+            throw new RuntimeException("将对象编码为" + format + "时发生异常", e);
+        }
+    }
+
+    @Override
+    public void object2Bytes(Object object, OutputStream out) {
+        try {
+            writerForValue(object).writeValue(out, object);
+        } catch (IOException e) {
+            LOGGER.error("将对象[{}]编码为{}时发生异常", object, format, e);
+            throw new RuntimeException("将对象编码为" + format + "时发生异常", e);
+        }
+    }
+
+    @Override
+    public <T> T bytes2Object(byte[] bytes, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(bytes);
+        } catch (Exception e) {
+            LOGGER.error("将{}解码为[{}]类型对象时发生异常", format, clazz.getName(), e);
+            throw new RuntimeException("将" + format + "解码为对象时发生异常", e);
+        }
+    }
+
+    @Override
+    public <T> T bytes2Object(byte[] bytes, TypeReference<T> valueTypeRef) {
+        try {
+            return readerFor(valueTypeRef).readValue(bytes);
+        } catch (Exception e) {
+            LOGGER.error("将{}解码为[{}]类型对象时发生异常", format, valueTypeRef.getType().getTypeName(), e);
+            throw new RuntimeException("将" + format + "解码为对象时发生异常", e);
+        }
+    }
+
+    @Override
+    public <T> T bytes2Object(InputStream in, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(in);
+        } catch (Exception e) {
+            LOGGER.error("从输入流读取{}并解码为[{}]类型对象时发生异常", format, clazz.getName(), e);
+            throw new RuntimeException("从输入流读取" + format + "并解码为对象时发生异常", e);
+        }
+    }
+
+    /**
+     * 类型对应的ObjectReader，每个类型只创建一次
+     */
+    ObjectReader readerFor(Class<?> clazz) {
+        return readers.get(clazz);
+    }
+
+    /**
+     * TypeReference表示的泛型类型对应的ObjectReader，超过MAX_CACHED_TYPES后新的类型每次创建
+     */
+    ObjectReader readerFor(TypeReference<?> valueTypeRef) {
+        Type type = valueTypeRef.getType();
+        if (type instanceof Class) {
+            return readers.get((Class<?>) type);
+        }
+        ObjectReader reader = typeReaders.get(type);
+        if (reader == null) {
+            reader = objectMapper.readerFor(valueTypeRef);
+            if (typeReaders.size() < MAX_CACHED_TYPES) {
+                ObjectReader previous = typeReaders.putIfAbsent(type, reader);
+                if (previous != null) {
+                    reader = previous;
+                }
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * 类型对应的ObjectWriter，每个类型只创建一次
+     */
+    ObjectWriter writerFor(Class<?> clazz) {
+        return writers.get(clazz);
+    }
+
+    /**
+     * 按对象的实际类型获取ObjectWriter
+     */
+    ObjectWriter writerForValue(Object object) {
+        return object == null ? objectMapper.writer() : writers.get(object.getClass());
+    }
+
+    @Override
+    public String toString() {
+        return "JacksonCodec[" + format + "]";
+    }
+}
@@ -0,0 +1,242 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Json数组的流式读取器，边读边解析，每次只绑定一个元素，内存占用与数组长度无关<br/>
+ * 数组可以是根节点，也可以是通过JSON Pointer(RFC 6901)指定的嵌套节点，如：/data/records、/pages/0/items，
+ * 路径之外的内容直接跳过，不绑定为对象。由JsonUtil.readArray创建，使用后需要关闭，
+ * 从文件创建时关闭文件，从输入流创建时不关闭输入流。非线程安全
+ *
+ * @param <T> 元素类型
+ * @author allen
+ * @since 1.0.0
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonArrayReader.class);
+
+    private final JsonParser parser;
+
+    private final ObjectReader reader;
+
+    /**
+     * 关闭读取器时需要关闭的数据源，不需要关闭时为null
+     */
+    private final Closeable source;
+
+    /**
+     * 是否已预读下一个元素
+     */
+    private boolean fetched;
+
+    /**
+     * 数组是否已读完
+     */
+    private boolean finished;
+
+    private boolean closed;
+
+    /**
+     * 预读的下一个元素
+     */
+    private T nextValue;
+
+    /**
+     * 创建读取器，将解析器定位到给定路径的数组开始位置
+     *
+     * @param parser       解析器
+     * @param reader       元素类型的ObjectReader
+     * @param source       关闭时需要关闭的数据源，可以为null
+     * @param arrayPointer 数组的JSON Pointer，空字符串表示根节点
+     * @throws IOException 读取失败
+     */
+    JsonArrayReader(JsonParser parser, ObjectReader reader, Closeable source, String arrayPointer) throws IOException {
+        this.parser = parser;
+        this.reader = reader;
+        this.source = source;
+        JsonToken token = moveTo(parser, JsonPointer.compile(arrayPointer));
+        if (token == null) {
+            throw new IllegalArgumentException("Json中不存在路径[" + arrayPointer + "]");
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Json中路径[" + arrayPointer + "]不是数组: " + token);
+        }
+    }
+
+    /**
+     * 将解析器移动到路径对应的节点，返回节点的第一个token，路径不存在时返回null
+     */
+    private static JsonToken moveTo(JsonParser parser, JsonPointer pointer) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (JsonPointer current = pointer; !current.matches() && token != null; current = current.tail()) {
+            if (token == JsonToken.START_OBJECT) {
+                token = moveToField(parser, current.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY && current.mayMatchElement()) {
+                token = moveToElement(parser, current.getMatchingIndex());
+            } else {
+                token = null;
+            }
+        }
+        return token;
+    }
+
+    private static JsonToken moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonToken value = parser.nextToken();
+            if (name.equals(parser.getCurrentName())) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static JsonToken moveToElement(JsonParser parser, int index) throws IOException {
+        for (int i = 0; ; i++) {
+            JsonToken value = parser.nextToken();
+            if (value == null || value == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (i == index) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            fetch();
+        }
+        return !finished;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value = nextValue;
+        nextValue = null;
+        fetched = false;
+        return value;
+    }
+
+    /**
+     * 读取下一批元素
+     *
+     * @param batchSize 每批的元素个数
+     * @return 元素列表，长度不超过batchSize，数组已读完时为空列表
+     */
+    public List<T> nextBatch(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        if (!hasNext()) {
+            return Collections.emptyList();
+        }
+        List<T> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && hasNext()) {
+            batch.add(next());
+        }
+        return batch;
+    }
+
+    /**
+     * 以Stream的形式读取剩余的元素，关闭Stream时关闭读取器
+     *
+     * @return 元素的Stream，顺序与数组一致
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * 以Stream的形式分批读取剩余的元素，每批最多batchSize个，关闭Stream时关闭读取器
+     *
+     * @param batchSize 每批的元素个数
+     * @return 元素列表的Stream，顺序与数组一致
+     */
+    public Stream<List<T>> batches(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        Iterator<List<T>> iterator = new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return JsonArrayReader.this.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return nextBatch(batchSize);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * 预读下一个元素，遇到数组结束时标记为已读完
+     */
+    private void fetch() {
+        fetched = true;
+        if (finished) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("JsonArrayReader is closed");
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                finished = true;
+                return;
+            }
+            nextValue = reader.readValue(parser);
+        } catch (IOException e) {
+            finished = true;
+            LOGGER.error("流式读取Json数组元素时发生异常", e);
+            throw new RuntimeException("流式读取Json数组元素时发生异常", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+            if (source != null) {
+                source.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("关闭Json数组读取器时发生异常", e);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 简单的Json路径，如：$.a.b[2].c、$['a.b'][0]，只支持属性名及数组下标，不支持通配符及过滤表达式<br/>
+ * 提取时通过JsonParser逐个读取token，不在路径上的子树直接跳过，只绑定目标节点；
+ * 所有路径都找到后立即停止读取，之后的内容不再解析。解析后的路径按字符串缓存
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class JsonPath {
+
+    /**
+     * 最多缓存的路径个数，超过后新的路径每次解析
+     */
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private static final Map<String, JsonPath> PATHS = new ConcurrentHashMap<>();
+
+    private final String path;
+
+    /**
+     * 每一级的属性名，为数组下标时为null
+     */
+    private final String[] names;
+
+    /**
+     * 每一级的数组下标，为属性名时为-1
+     */
+    private final int[] indexes;
+
+    private JsonPath(String path, List<Object> segments) {
+        this.path = path;
+        this.names = new String[segments.size()];
+        this.indexes = new int[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            Object segment = segments.get(i);
+            if (segment instanceof Integer) {
+                indexes[i] = (Integer) segment;
+            } else {
+                names[i] = (String) segment;
+                indexes[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * 解析路径
+     *
+     * @param path 路径，以$开头
+     * @return 解析后的路径
+     */
+    static JsonPath of(String path) {
+        JsonPath jsonPath = PATHS.get(path);
+        if (jsonPath == null) {
+            jsonPath = new JsonPath(path, parse(path));
+            if (PATHS.size() < MAX_CACHED_PATHS) {
+                PATHS.putIfAbsent(path, jsonPath);
+            }
+        }
+        return jsonPath;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    private static List<Object> parse(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '$') {
+            throw new IllegalArgumentException("Invalid json path: " + path);
+        }
+        List<Object> segments = new ArrayList<>();
+        int length = path.length();
+        int i = 1;
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Invalid json path: " + path);
+                }
+                segments.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0 || end == i + 1) {
+                    throw new IllegalArgumentException("Invalid json path: " + path);
+                }
+                String content = path.substring(i + 1, end);
+                char quote = content.charAt(0);
+                if (quote == '\'' || quote == '"') {
+                    if (content.length() < 2 || content.charAt(content.length() - 1) != quote) {
+                        throw new IllegalArgumentException("Invalid json path: " + path);
+                    }
+                    segments.add(content.substring(1, content.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(content));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid json path: " + path, e);
+                    }
+                    if ((Integer) segments.get(segments.size() - 1) < 0) {
+                        throw new IllegalArgumentException("Invalid json path: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Invalid json path: " + path);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 从解析器中提取给定路径的值，解析器应位于读取第一个token之前
+     *
+     * @param parser  解析器
+     * @param paths   路径
+     * @param readers 每个路径目标节点的ObjectReader
+     * @param values  每个路径的值
+     * @param found   每个路径是否找到
+     * @throws IOException 读取失败
+     */
+    static void extract(JsonParser parser, JsonPath[] paths, ObjectReader[] readers, Object[] values, boolean[] found)
+            throws IOException {
+        if (parser.nextToken() == null) {
+            return;
+        }
+        int[] active = new int[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            active[i] = i;
+        }
+        new Extraction(parser, paths, readers, values, found).walk(0, active, paths.length);
+    }
+
+    /**
+     * 一次提取过程的状态
+     */
+    private static final class Extraction {
+
+        private final JsonParser parser;
+
+        private final JsonPath[] paths;
+
+        private final ObjectReader[] readers;
+
+        private final Object[] values;
+
+        private final boolean[] found;
+
+        private int remaining;
+
+        private Extraction(JsonParser parser, JsonPath[] paths, ObjectReader[] readers, Object[] values,
+                           boolean[] found) {
+            this.parser = parser;
+            this.paths = paths;
+            this.readers = readers;
+            this.values = values;
+            this.found = found;
+            this.remaining = paths.length;
+        }
+
+        /**
+         * 处理当前token开始的节点，active中的路径前depth级都与当前节点匹配
+         */
+        private void walk(int depth, int[] active, int activeCount) throws IOException {
+            int ending = -1;
+            for (int i = 0; i < activeCount; i++) {
+                if (paths[active[i]].names.length == depth) {
+                    ending = active[i];
+                    break;
+                }
+            }
+            if (ending >= 0) {
+                bind(depth, ending, active, activeCount);
+                return;
+            }
+            JsonToken token = parser.currentToken();
+            int[] next = new int[activeCount];
+            if (token == JsonToken.START_OBJECT) {
+                while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    int count = 0;
+                    for (int i = 0; i < activeCount; i++) {
+                        if (name.equals(paths[active[i]].names[depth])) {
+                            next[count++] = active[i];
+                        }
+                    }
+                    if (count == 0) {
+                        parser.skipChildren();
+                    } else {
+                        walk(depth + 1, next, count);
+                    }
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                for (int index = 0; remaining > 0 && isElement(parser.nextToken()); index++) {
+                    int count = 0;
+                    for (int i = 0; i < activeCount; i++) {
+                        if (paths[active[i]].indexes[depth] == index) {
+                            next[count++] = active[i];
+                        }
+                    }
+                    if (count == 0) {
+                        parser.skipChildren();
+                    } else {
+                        walk(depth + 1, next, count);
+                    }
+                }
+            }
+        }
+
+        private boolean isElement(JsonToken token) {
+            return token != null && token != JsonToken.END_ARRAY;
+        }
+
+        /**
+         * 绑定当前节点，其他路径指向该节点内部时从绑定结果中读取
+         */
+        private void bind(int depth, int ending, int[] active, int activeCount) throws IOException {
+            boolean nested = false;
+            for (int i = 0; i < activeCount; i++) {
+                if (active[i] != ending && paths[active[i]].names.length > depth) {
+                    nested = true;
+                }
+            }
+            ObjectReader reader = nested ? JsonUtil.readerFor(Object.class) : readers[ending];
+            Object value = reader.readValue(parser);
+            for (int i = 0; i < activeCount; i++) {
+                int pathIndex = active[i];
+                JsonPath path = paths[pathIndex];
+                if (path.names.length == depth) {
+                    setValue(pathIndex, nested ? convert(pathIndex, value) : value);
+                } else {
+                    resolve(pathIndex, value, depth);
+                }
+            }
+        }
+
+        /**
+         * 从已绑定的Map/List中读取路径剩余部分的值
+         */
+        private void resolve(int pathIndex, Object value, int depth) {
+            JsonPath path = paths[pathIndex];
+            Object current = value;
+            for (int i = depth; i < path.names.length; i++) {
+                if (path.names[i] != null && current instanceof Map && ((Map<?, ?>) current).containsKey(path.names[i])) {
+                    current = ((Map<?, ?>) current).get(path.names[i]);
+                } else if (path.names[i] == null && current instanceof List && path.indexes[i] < ((List<?>) current).size()) {
+                    current = ((List<?>) current).get(path.indexes[i]);
+                } else {
+                    return;
+                }
+            }
+            setValue(pathIndex, convert(pathIndex, current));
+        }
+
+        /**
+         * 将已绑定为Map/List的值转换为路径对应的类型
+         */
+        private Object convert(int pathIndex, Object value) {
+            return JsonUtil.getObjectMapper().convertValue(value, readers[pathIndex].getValueType());
+        }
+
+        private void setValue(int pathIndex, Object value) {
+            if (!found[pathIndex]) {
+                found[pathIndex] = true;
+                values[pathIndex] = value;
+                remaining--;
+            }
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package com.allen.tool.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Json工具类，基于Jackson实现
@@ -23,35 +44,77 @@ public class JsonUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonUtil.class);
 
     /**
-     * Jackson的ObjectMapper对象
+     * Map<String, Object>类型
      */
-    private static volatile ObjectMapper objectMapper;
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
 
     /**
      * 获取ObjectMapper实例
      *
      * @return ObjectMapper实例
      */
-    private static ObjectMapper getObjectMapper() {
-        if (objectMapper == null) {
-            synchronized (JsonUtil.class) {
-                if (objectMapper != null) {
-                    return objectMapper;
-                }
-                objectMapper = new ObjectMapper();
-                objectMapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
-                objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true);
-                objectMapper.registerModule(new JavaTimeModule());
-                objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-
-            }
-        }
+    static ObjectMapper getObjectMapper() {
+        return ObjectMapperHolder.OBJECT_MAPPER;
+    }
 
+    /**
+     * 使用给定的数据格式创建ObjectMapper实例，JsonUtil及各Codec的配置保持一致
+     *
+     * @param factory 数据格式对应的JsonFactory，如Json、Smile、CBOR
+     * @return ObjectMapper实例
+     */
+    static ObjectMapper createObjectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+        objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true);
+        // 输入输出流由调用方关闭
+        objectMapper.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+        objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
         return objectMapper;
     }
 
+    /**
+     * 获取指定类型的ObjectReader，每个类型只创建一次，配置与JsonUtil的其他方法一致
+     *
+     * @param clazz 指定的类型
+     * @return ObjectReader，线程安全
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return Codecs.jsonCodec().readerFor(clazz);
+    }
+
+    /**
+     * 获取自定义类型或复杂类型的ObjectReader，按TypeReference表示的泛型类型缓存，与Codecs.json()共用缓存
+     *
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return ObjectReader，线程安全
+     */
+    public static ObjectReader readerFor(TypeReference<?> valueTypeRef) {
+        return Codecs.jsonCodec().readerFor(valueTypeRef);
+    }
+
+    /**
+     * 获取指定类型的ObjectWriter，每个类型只创建一次，配置与JsonUtil的其他方法一致
+     *
+     * @param clazz 指定的类型，应为要写出对象的实际类型，按声明的父类型写出时不包含子类的属性
+     * @return ObjectWriter，线程安全
+     */
+    public static ObjectWriter writerFor(Class<?> clazz) {
+        return Codecs.jsonCodec().writerFor(clazz);
+    }
+
+    /**
+     * 按对象的实际类型获取ObjectWriter
+     */
+    private static ObjectWriter writerForValue(Object object) {
+        return Codecs.jsonCodec().writerForValue(object);
+    }
+
     /**
      * 将对象转换为Json字符串
      *
@@ -61,7 +124,7 @@ public class JsonUtil {
      */
     public static String object2Json(Object object) {
         try {
-            return getObjectMapper().writeValueAsString(object);
+            return writerForValue(object).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             LOGGER.error("将对象[{}]转为Json字符串时发生异常", object, e);
             throw new RuntimeException("将对象转为Json字符串时发生异常", e);
@@ -78,7 +141,7 @@ public class JsonUtil {
      */
     public static <T> T json2Object(String json, Class<T> clazz) {
         try {
-            return getObjectMapper().readValue(json, clazz);
+            return readerFor(clazz).readValue(json);
         } catch (Exception e) {
             LOGGER.error("将Json字符串[{}]转换为[{}]类型对象时发生异常", json, clazz.getName(), e);
             throw new RuntimeException("将Json字符串转换为对象时发生异常", e);
@@ -95,7 +158,7 @@ public class JsonUtil {
      */
     public static <T> T json2Object(String json, TypeReference<T> valueTypeRef) {
         try {
-            return getObjectMapper().readValue(json, valueTypeRef);
+            return readerFor(valueTypeRef).readValue(json);
         } catch (Exception e) {
             LOGGER.error("将Json字符串[{}]转换为[{}]类型对象时发生异常", json, valueTypeRef.getType().getTypeName(), e);
             throw new RuntimeException("将Json字符串转换为对象时发生异常", e);
@@ -110,82 +173,540 @@ public class JsonUtil {
      * @throws RuntimeException
      */
     public static Map<String, Object> json2Map(String json) {
-        return json2Object(json, new TypeReference<Map<String, Object>>() {
-        });
+        return json2Object(json, MAP_TYPE);
     }
 
     /**
-     * 将对象转换为json，给定的属性不输出
+     * 将对象转换为UTF-8编码的Json字节数组，不生成中间的字符串
      *
-     * @param object      给定对象
-     * @param ignoreField 需要忽略的属性
-     * @return json字符串
+     * @param object 要转换的对象
+     * @return UTF-8编码的Json字节数组
+     * @throws RuntimeException
      */
-    public static String object2Json(Object object, String ignoreField) {
-        List<String> ignoreFields = new ArrayList<>();
-        ignoreFields.add(ignoreField);
-        return object2Json(object, ignoreFields);
+    public static byte[] object2JsonBytes(Object object) {
+        try {
+            return writerForValue(object).writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            LOGGER.error("将对象[{}]转为Json字节数组时发生异常", object, e);
+            throw new RuntimeException("将对象转为Json字节数组时发生异常", e);
+        }
     }
 
     /**
-     * 将对象转换为json，给定的属性不输出
+     * 将对象转换为UTF-8编码的Json并包装为ByteBuffer，position为0，limit为Json的长度
      *
-     * @param object       给定对象
-     * @param ignoreFields 需要忽略的属性列表
-     * @return json字符串
+     * @param object 要转换的对象
+     * @return ByteBuffer
+     * @throws RuntimeException
      */
-    public static String object2Json(Object object, List<String> ignoreFields) {
-        Object tmp = json2Object(object2Json(object), new TypeReference<Object>() {
-        });
-        remove(tmp, ignoreFields);
-        return object2Json(tmp);
+    public static ByteBuffer object2JsonByteBuffer(Object object) {
+        return ByteBuffer.wrap(object2JsonBytes(object));
     }
 
     /**
-     * 递归移除给定的属性
+     * 将对象以UTF-8编码的Json写出到输出流，写出后flush，不关闭输出流
      *
-     * @param object
-     * @param fields
+     * @param object 要转换的对象
+     * @param out    输出流
+     * @throws RuntimeException
      */
-    private static void remove(Object object, List<String> fields) {
-        if (object == null) {
-            return;
+    public static void object2Json(Object object, OutputStream out) {
+        try {
+            writerForValue(object).writeValue(out, object);
+        } catch (IOException e) {
+            LOGGER.error("将对象[{}]写出为Json时发生异常", object, e);
+            throw new RuntimeException("将对象写出为Json时发生异常", e);
         }
-        if (object instanceof Collection) {
-            Collection collection = (Collection) object;
-            if (collection.isEmpty()) {
-                return;
-            }
-            for (Object item : (Collection) object) {
-                remove(item, fields);
+    }
+
+    /**
+     * 将对象以Json写出到Writer，写出后flush，不关闭Writer
+     *
+     * @param object 要转换的对象
+     * @param writer Writer
+     * @throws RuntimeException
+     */
+    public static void object2Json(Object object, Writer writer) {
+        try {
+            writerForValue(object).writeValue(writer, object);
+        } catch (IOException e) {
+            LOGGER.error("将对象[{}]写出为Json时发生异常", object, e);
+            throw new RuntimeException("将对象写出为Json时发生异常", e);
+        }
+    }
+
+    /**
+     * 将UTF-8编码的Json字节数组转换为指定类型的对象，直接解析字节，不生成中间的字符串
+     *
+     * @param json  Json字节数组，支持UTF-8/UTF-16/UTF-32编码
+     * @param clazz 指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(byte[] json, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(json);
+        } catch (Exception e) {
+            LOGGER.error("将Json字节数组转换为[{}]类型对象时发生异常", clazz.getName(), e);
+            throw new RuntimeException("将Json字节数组转换为对象时发生异常", e);
+        }
+    }
+
+    /**
+     * 将UTF-8编码的Json字节数组转换为自定义类型或复杂类型的对象
+     *
+     * @param json         Json字节数组，支持UTF-8/UTF-16/UTF-32编码
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return 给定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(byte[] json, TypeReference<T> valueTypeRef) {
+        try {
+            return readerFor(valueTypeRef).readValue(json);
+        } catch (Exception e) {
+            LOGGER.error("将Json字节数组转换为[{}]类型对象时发生异常", valueTypeRef.getType().getTypeName(), e);
+            throw new RuntimeException("将Json字节数组转换为对象时发生异常", e);
+        }
+    }
+
+    /**
+     * 将ByteBuffer中position到limit之间的Json转换为指定类型的对象，不改变ByteBuffer的position<br/>
+     * 堆内ByteBuffer直接解析底层数组，堆外ByteBuffer按流读取，都不复制整个内容
+     *
+     * @param json  ByteBuffer，支持UTF-8/UTF-16/UTF-32编码
+     * @param clazz 指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(ByteBuffer json, Class<T> clazz) {
+        try {
+            if (json.hasArray()) {
+                return readerFor(clazz).readValue(json.array(), json.arrayOffset() + json.position(),
+                        json.remaining());
             }
-        } else if (object instanceof Map) {
-            Map<String, Object> map = (Map<String, Object>) object;
-            map = removeFromMap(map, fields);
-            for (Map.Entry<String, Object> entry : map.entrySet()) {
-                Object value = entry.getValue();
-                remove(value, fields);
+            return readerFor(clazz).readValue(new ByteBufferBackedInputStream(json.duplicate()));
+        } catch (Exception e) {
+            LOGGER.error("将Json ByteBuffer转换为[{}]类型对象时发生异常", clazz.getName(), e);
+            throw new RuntimeException("将Json ByteBuffer转换为对象时发生异常", e);
+        }
+    }
+
+    /**
+     * 将ByteBuffer中position到limit之间的Json转换为自定义类型或复杂类型的对象，不改变ByteBuffer的position
+     *
+     * @param json         ByteBuffer，支持UTF-8/UTF-16/UTF-32编码
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return 给定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(ByteBuffer json, TypeReference<T> valueTypeRef) {
+        try {
+            if (json.hasArray()) {
+                return readerFor(valueTypeRef).readValue(json.array(), json.arrayOffset() + json.position(),
+                        json.remaining());
             }
+            return readerFor(valueTypeRef).readValue(new ByteBufferBackedInputStream(json.duplicate()));
+        } catch (Exception e) {
+            LOGGER.error("将Json ByteBuffer转换为[{}]类型对象时发生异常", valueTypeRef.getType().getTypeName(), e);
+            throw new RuntimeException("将Json ByteBuffer转换为对象时发生异常", e);
         }
     }
 
     /**
-     * 从map对象中移除给定的key
+     * 从输入流读取Json并转换为指定类型的对象，边读边解析，不关闭输入流
      *
-     * @param map  map
-     * @param keys key集合
-     * @return 移除给定key后的map
+     * @param in    输入流，支持UTF-8/UTF-16/UTF-32编码
+     * @param clazz 指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
      */
-    private static Map<String, Object> removeFromMap(Map<String, Object> map, List<String> keys) {
-        if (map == null || map.isEmpty()) {
-            return map;
+    public static <T> T json2Object(InputStream in, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(in);
+        } catch (Exception e) {
+            LOGGER.error("从输入流读取Json并转换为[{}]类型对象时发生异常", clazz.getName(), e);
+            throw new RuntimeException("从输入流读取Json并转换为对象时发生异常", e);
         }
-        if (keys == null || keys.isEmpty()) {
-            return map;
+    }
+
+    /**
+     * 从输入流读取Json并转换为自定义类型或复杂类型的对象，边读边解析，不关闭输入流
+     *
+     * @param in           输入流，支持UTF-8/UTF-16/UTF-32编码
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return 给定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(InputStream in, TypeReference<T> valueTypeRef) {
+        try {
+            return readerFor(valueTypeRef).readValue(in);
+        } catch (Exception e) {
+            LOGGER.error("从输入流读取Json并转换为[{}]类型对象时发生异常", valueTypeRef.getType().getTypeName(), e);
+            throw new RuntimeException("从输入流读取Json并转换为对象时发生异常", e);
+        }
+    }
+
+    /**
+     * 从Reader读取Json并转换为指定类型的对象，边读边解析，不关闭Reader
+     *
+     * @param reader Reader
+     * @param clazz  指定的类型
+     * @return 指定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(Reader reader, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(reader);
+        } catch (Exception e) {
+            LOGGER.error("从Reader读取Json并转换为[{}]类型对象时发生异常", clazz.getName(), e);
+            throw new RuntimeException("从Reader读取Json并转换为对象时发生异常", e);
         }
-        for (String key : keys) {
-            map.remove(key);
+    }
+
+    /**
+     * 从Reader读取Json并转换为自定义类型或复杂类型的对象，边读边解析，不关闭Reader
+     *
+     * @param reader       Reader
+     * @param valueTypeRef 自定义类型或复杂类型
+     * @return 给定类型的对象
+     * @throws RuntimeException
+     */
+    public static <T> T json2Object(Reader reader, TypeReference<T> valueTypeRef) {
+        try {
+            return readerFor(valueTypeRef).readValue(reader);
+        } catch (Exception e) {
+            LOGGER.error("从Reader读取Json并转换为[{}]类型对象时发生异常", valueTypeRef.getType().getTypeName(), e);
+            throw new RuntimeException("从Reader读取Json并转换为对象时发生异常", e);
         }
-        return map;
+    }
+
+    /**
+     * 流式读取输入流中根节点的Json数组，每次只绑定一个元素，适合元素很多的大数组
+     *
+     * @param in    输入流，支持UTF-8/UTF-16/UTF-32编码，关闭读取器时不关闭输入流
+     * @param clazz 元素类型
+     * @return 数组读取器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static <T> JsonArrayReader<T> readArray(InputStream in, Class<T> clazz) {
+        return readArray(in, "", clazz);
+    }
+
+    /**
+     * 流式读取输入流中给定路径的Json数组，每次只绑定一个元素，路径之外的内容直接跳过
+     *
+     * @param in           输入流，支持UTF-8/UTF-16/UTF-32编码，关闭读取器时不关闭输入流
+     * @param arrayPointer 数组的JSON Pointer，如：/data/records，空字符串表示根节点
+     * @param clazz        元素类型
+     * @return 数组读取器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static <T> JsonArrayReader<T> readArray(InputStream in, String arrayPointer, Class<T> clazz) {
+        JsonParser parser = null;
+        try {
+            parser = getObjectMapper().getFactory().createParser(in);
+            return new JsonArrayReader<>(parser, readerFor(clazz), null, arrayPointer);
+        } catch (IOException e) {
+            closeQuietly(parser);
+            LOGGER.error("从输入流读取Json数组[{}]时发生异常", arrayPointer, e);
+            throw new RuntimeException("从输入流读取Json数组时发生异常", e);
+        } catch (RuntimeException e) {
+            closeQuietly(parser);
+            throw e;
+        }
+    }
+
+    /**
+     * 流式读取文件中给定路径的Json数组，每次只绑定一个元素，路径之外的内容直接跳过
+     *
+     * @param file         Json文件，支持UTF-8/UTF-16/UTF-32编码
+     * @param arrayPointer 数组的JSON Pointer，如：/data/records，空字符串表示根节点
+     * @param clazz        元素类型
+     * @return 数组读取器，使用后需要关闭，关闭时同时关闭文件
+     * @throws RuntimeException
+     */
+    public static <T> JsonArrayReader<T> readArray(File file, String arrayPointer, Class<T> clazz) {
+        InputStream in = null;
+        JsonParser parser = null;
+        try {
+            in = new FileInputStream(file);
+            parser = getObjectMapper().getFactory().createParser(in);
+            return new JsonArrayReader<>(parser, readerFor(clazz), in, arrayPointer);
+        } catch (IOException e) {
+            closeQuietly(parser);
+            closeQuietly(in);
+            LOGGER.error("从文件[{}]读取Json数组[{}]时发生异常", file, arrayPointer, e);
+            throw new RuntimeException("从文件读取Json数组时发生异常", e);
+        } catch (RuntimeException e) {
+            closeQuietly(parser);
+            closeQuietly(in);
+            throw e;
+        }
+    }
+
+    /**
+     * 创建NDJSON(JSON Lines)写出器，对象直接序列化到输出流，关闭写出器时不关闭输出流
+     *
+     * @param out  输出流
+     * @param gzip 是否gzip压缩
+     * @return NDJSON写出器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static NdjsonWriter ndjsonWriter(OutputStream out, boolean gzip) {
+        try {
+            return new NdjsonWriter(out, gzip, false);
+        } catch (IOException e) {
+            LOGGER.error("创建NDJSON写出器时发生异常", e);
+            throw new RuntimeException("创建NDJSON写出器时发生异常", e);
+        }
+    }
+
+    /**
+     * 创建写入文件的NDJSON(JSON Lines)写出器，文件已存在时覆盖，关闭写出器时关闭文件
+     *
+     * @param file 文件
+     * @param gzip 是否gzip压缩
+     * @return NDJSON写出器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static NdjsonWriter ndjsonWriter(File file, boolean gzip) {
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(file);
+            return new NdjsonWriter(out, gzip, true);
+        } catch (IOException e) {
+            closeQuietly(out);
+            LOGGER.error("创建文件[{}]的NDJSON写出器时发生异常", file, e);
+            throw new RuntimeException("创建NDJSON写出器时发生异常", e);
+        }
+    }
+
+    /**
+     * 创建NDJSON(JSON Lines)读取器，每次读取一行并绑定为指定类型的对象，关闭读取器时不关闭输入流
+     *
+     * @param in    输入流
+     * @param clazz 元素类型
+     * @param gzip  是否gzip解压
+     * @return NDJSON读取器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static <T> NdjsonReader<T> ndjsonReader(InputStream in, Class<T> clazz, boolean gzip) {
+        try {
+            return new NdjsonReader<>(in, readerFor(clazz), gzip, false);
+        } catch (IOException e) {
+            LOGGER.error("创建NDJSON读取器时发生异常", e);
+            throw new RuntimeException("创建NDJSON读取器时发生异常", e);
+        }
+    }
+
+    /**
+     * 创建读取文件的NDJSON(JSON Lines)读取器，每次读取一行并绑定为指定类型的对象，关闭读取器时关闭文件
+     *
+     * @param file  文件
+     * @param clazz 元素类型
+     * @param gzip  是否gzip解压
+     * @return NDJSON读取器，使用后需要关闭
+     * @throws RuntimeException
+     */
+    public static <T> NdjsonReader<T> ndjsonReader(File file, Class<T> clazz, boolean gzip) {
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            return new NdjsonReader<>(in, readerFor(clazz), gzip, true);
+        } catch (IOException e) {
+            closeQuietly(in);
+            LOGGER.error("创建文件[{}]的NDJSON读取器时发生异常", file, e);
+            throw new RuntimeException("创建NDJSON读取器时发生异常", e);
+        }
+    }
+
+    /**
+     * 以Stream的形式读取未压缩的NDJSON(JSON Lines)文件，使用后需要关闭Stream<br/>
+     * 并行时按换行符将文件拆分为多个字节区间，由ForkJoinPool.commonPool()的多个线程分别解析，
+     * 元素的相遇顺序与行的顺序一致；gzip压缩的文件无法拆分，需要使用ndjsonReader(File, Class, true).stream()
+     *
+     * @param file     文件
+     * @param clazz    元素类型
+     * @param parallel 是否并行
+     * @return 元素的Stream，关闭时关闭文件
+     * @throws RuntimeException
+     */
+    public static <T> Stream<T> ndjsonStream(File file, Class<T> clazz, boolean parallel) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            NdjsonSpliterator<T> spliterator = new NdjsonSpliterator<>(channel, readerFor(clazz), 0, channel.size());
+            return StreamSupport.stream(spliterator, parallel).onClose(closeAction(channel));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            LOGGER.error("读取NDJSON文件[{}]时发生异常", file, e);
+            throw new RuntimeException("读取NDJSON文件时发生异常", e);
+        }
+    }
+
+    private static Runnable closeAction(Closeable closeable) {
+        return () -> closeQuietly(closeable);
+    }
+
+    /**
+     * 流式写出时使用的ObjectWriter，每个对象写出后不flush，由调用方决定flush的时机
+     */
+    static ObjectWriter streamingWriter() {
+        return ObjectMapperHolder.STREAMING_WRITER;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            LOGGER.warn("关闭资源时发生异常", e);
+        }
+    }
+
+    /**
+     * 提取Json中给定路径的值，如：$.a.b[2].c、$['a.b'][0]，只支持属性名及数组下标<br/>
+     * 逐个读取token，跳过不在路径上的子树，找到后立即停止，只有目标节点被绑定为对象
+     *
+     * @param json Json字符串
+     * @param path 路径，以$开头
+     * @return 路径的值，对象为Map，数组为List，路径不存在时返回null
+     * @throws RuntimeException
+     */
+    public static Object extract(String json, String path) {
+        return extract(json, path, Object.class);
+    }
+
+    /**
+     * 提取Json中给定路径的值并转换为指定类型，路径规则同extract(String, String)
+     *
+     * @param json  Json字符串
+     * @param path  路径，以$开头
+     * @param clazz 指定的类型，可以是基本类型，如long.class，此时返回对应的包装类型
+     * @return 指定类型的对象，路径不存在时返回null
+     * @throws RuntimeException
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T extract(String json, String path, Class<T> clazz) {
+        try (JsonParser parser = getObjectMapper().getFactory().createParser(json)) {
+            // 值由clazz对应的ObjectReader绑定，基本类型时为包装类型，Class.cast不接受，因此直接转换
+            return (T) extract(parser, new JsonPath[]{JsonPath.of(path)}, readerFor(clazz))[0];
+        } catch (IOException e) {
+            LOGGER.error("从Json字符串[{}]中提取路径[{}]的值时发生异常", json, path, e);
+            throw new RuntimeException("从Json字符串中提取值时发生异常", e);
+        }
+    }
+
+    /**
+     * 提取UTF-8编码的Json字节数组中给定路径的值并转换为指定类型，路径规则同extract(String, String)
+     *
+     * @param json  Json字节数组，支持UTF-8/UTF-16/UTF-32编码
+     * @param path  路径，以$开头
+     * @param clazz 指定的类型，可以是基本类型，如long.class，此时返回对应的包装类型
+     * @return 指定类型的对象，路径不存在时返回null
+     * @throws RuntimeException
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T extract(byte[] json, String path, Class<T> clazz) {
+        try (JsonParser parser = getObjectMapper().getFactory().createParser(json)) {
+            // 值由clazz对应的ObjectReader绑定，基本类型时为包装类型，Class.cast不接受，因此直接转换
+            return (T) extract(parser, new JsonPath[]{JsonPath.of(path)}, readerFor(clazz))[0];
+        } catch (IOException e) {
+            LOGGER.error("从Json字节数组中提取路径[{}]的值时发生异常", path, e);
+            throw new RuntimeException("从Json字节数组中提取值时发生异常", e);
+        }
+    }
+
+    /**
+     * 一次读取中提取Json中多个路径的值，所有路径都找到后立即停止，路径规则同extract(String, String)
+     *
+     * @param json  Json字符串
+     * @param paths 路径，以$开头
+     * @return 路径及对应的值，顺序与参数一致，只包含存在的路径，值可能为null
+     * @throws RuntimeException
+     */
+    public static Map<String, Object> extractAll(String json, String... paths) {
+        JsonPath[] jsonPaths = new JsonPath[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            jsonPaths[i] = JsonPath.of(paths[i]);
+        }
+        Object[] values;
+        boolean[] found = new boolean[paths.length];
+        try (JsonParser parser = getObjectMapper().getFactory().createParser(json)) {
+            ObjectReader[] readers = new ObjectReader[paths.length];
+            Arrays.fill(readers, readerFor(Object.class));
+            values = new Object[paths.length];
+            JsonPath.extract(parser, jsonPaths, readers, values, found);
+        } catch (IOException e) {
+            LOGGER.error("从Json字符串[{}]中提取路径{}的值时发生异常", json, Arrays.toString(paths), e);
+            throw new RuntimeException("从Json字符串中提取值时发生异常", e);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            if (found[i]) {
+                result.put(paths[i], values[i]);
+            }
+        }
+        return result;
+    }
+
+    private static Object[] extract(JsonParser parser, JsonPath[] paths, ObjectReader reader) throws IOException {
+        Object[] values = new Object[paths.length];
+        JsonPath.extract(parser, paths, new ObjectReader[]{reader}, values, new boolean[paths.length]);
+        return values;
+    }
+
+    /**
+     * 将对象转换为json，给定的属性不输出，忽略规则同object2Json(Object, List)
+     *
+     * @param object      给定对象
+     * @param ignoreField 需要忽略的属性
+     * @return json字符串
+     */
+    public static String object2Json(Object object, String ignoreField) {
+        return object2Json(object, Collections.singletonList(ignoreField));
+    }
+
+    /**
+     * 将对象转换为json，给定的属性不输出，任意层级的Bean属性(包括@JsonAnyGetter)、Map的key及ObjectNode的字段
+     * 与给定属性相同时都不输出<br/>
+     * 自定义JsonSerializer直接写出的字段不会被忽略，@JsonRawValue的内容按原样输出。
+     * 序列化时直接跳过给定的属性，只写出一次；同一个忽略列表对应的ObjectWriter会被缓存
+     *
+     * @param object       给定对象
+     * @param ignoreFields 需要忽略的属性列表
+     * @return json字符串
+     */
+    public static String object2Json(Object object, List<String> ignoreFields) {
+        if (ignoreFields == null || ignoreFields.isEmpty()) {
+            return object2Json(object);
+        }
+        try {
+            return IgnoreFieldsHolder.WRITERS.writerFor(ignoreFields).writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            LOGGER.error("将对象[{}]转为Json字符串时发生异常", object, e);
+            throw new RuntimeException("将对象转为Json字符串时发生异常", e);
+        }
+    }
+
+    /**
+     * 忽略属性的序列化器，第一次使用时创建
+     */
+    private static final class IgnoreFieldsHolder {
+
+        private static final IgnoreFieldsWriters WRITERS = new IgnoreFieldsWriters(getObjectMapper());
+    }
+
+    /**
+     * ObjectMapper实例及流式写出的ObjectWriter，第一次使用时由类加载机制保证只创建一次
+     */
+    private static final class ObjectMapperHolder {
+
+        private static final ObjectMapper OBJECT_MAPPER = createObjectMapper(new JsonFactory());
+
+        private static final ObjectWriter STREAMING_WRITER = OBJECT_MAPPER.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 }
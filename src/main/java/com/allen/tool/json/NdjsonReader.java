@@ -0,0 +1,184 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * NDJSON(JSON Lines)读取器，每次读取并绑定一行Json，内存占用与行数无关，空行被忽略<br/>
+ * 每行必须恰好是一个Json值，同一行有多个值或一个值跨多行时抛出异常<br/>
+ * 可选gzip解压。由JsonUtil.ndjsonReader创建，使用后需要关闭，从文件创建时关闭文件，从输入流创建时不关闭输入流。非线程安全
+ *
+ * @param <T> 元素类型
+ * @author allen
+ * @since 1.0.0
+ */
+public final class NdjsonReader<T> implements Iterator<T>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NdjsonReader.class);
+
+    private final JsonParser parser;
+
+    private final ObjectReader reader;
+
+    /**
+     * 关闭读取器时需要关闭的数据源
+     */
+    private final InputStream source;
+
+    /**
+     * 关闭时是否关闭数据源
+     */
+    private final boolean closeSource;
+
+    /**
+     * 是否已预读下一个元素
+     */
+    private boolean fetched;
+
+    /**
+     * 是否已读完
+     */
+    private boolean finished;
+
+    private boolean closed;
+
+    /**
+     * 上一个元素所在的行号，从1开始，尚未读取时为0
+     */
+    private int lastLine;
+
+    /**
+     * 预读的下一个元素
+     */
+    private T nextValue;
+
+    /**
+     * 创建读取器
+     *
+     * @param in          输入流
+     * @param reader      元素类型的ObjectReader
+     * @param gzip        是否gzip解压
+     * @param closeSource 关闭时是否关闭输入流
+     * @throws IOException 创建失败
+     */
+    NdjsonReader(InputStream in, ObjectReader reader, boolean gzip, boolean closeSource) throws IOException {
+        this.reader = reader;
+        this.closeSource = closeSource;
+        this.source = gzip ? new GZIPInputStream(closeSource ? in : nonClosing(in), NdjsonWriter.GZIP_BUFFER_SIZE) : in;
+        this.parser = reader.getFactory().createParser(source);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            fetch();
+        }
+        return !finished;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value = nextValue;
+        nextValue = null;
+        fetched = false;
+        return value;
+    }
+
+    /**
+     * 以Stream的形式读取剩余的行，关闭Stream时关闭读取器
+     *
+     * @return 元素的Stream，顺序与行的顺序一致
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * 预读下一行
+     */
+    private void fetch() {
+        fetched = true;
+        if (finished) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("NdjsonReader is closed");
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                finished = true;
+                return;
+            }
+            int line = parser.getTokenLocation().getLineNr();
+            nextValue = reader.readValue(parser);
+            checkSingleLine(parser, line, lastLine);
+            lastLine = line;
+        } catch (IOException e) {
+            finished = true;
+            LOGGER.error("读取NDJSON时发生异常", e);
+            throw new RuntimeException("读取NDJSON时发生异常", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+            if (source instanceof GZIPInputStream || closeSource) {
+                source.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("关闭NDJSON读取器时发生异常", e);
+        }
+    }
+
+    /**
+     * 校验刚读取的Json值独占一行：与上一个值不在同一行，且没有跨行
+     *
+     * @param parser       解析器，当前位置为Json值的最后一个token
+     * @param line         Json值第一个token所在的行号
+     * @param previousLine 上一个Json值所在的行号，没有时为0
+     * @throws JsonParseException 不是每行一个Json值
+     */
+    static void checkSingleLine(JsonParser parser, int line, int previousLine) throws JsonParseException {
+        if (line == previousLine || parser.getTokenLocation().getLineNr() != line) {
+            throw new JsonParseException(parser, "NDJSON的每一行必须恰好是一个Json值");
+        }
+    }
+
+    /**
+     * 关闭时不关闭被包装流的输入流，用于gzip解压调用方的输入流
+     */
+    private static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
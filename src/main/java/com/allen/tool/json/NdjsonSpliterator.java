@@ -0,0 +1,178 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 按字节区间读取NDJSON文件的Spliterator，供JsonUtil.ndjsonStream的并行模式使用<br/>
+ * 拆分时从区间中点向后查找第一个换行符，在换行符之后拆分，因此每个区间都只包含完整的行；
+ * Json字符串中的换行符必须转义，所以行内不会出现换行符。各区间通过FileChannel按位置读取，互不影响<br/>
+ * 与NdjsonReader一样要求每行恰好是一个Json值，同一行有多个值或一个值跨多行时抛出异常
+ *
+ * @param <T> 元素类型
+ * @author allen
+ * @since 1.0.0
+ */
+final class NdjsonSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * 区间小于该字节数时不再拆分
+     */
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+
+    /**
+     * 查找换行符时每次读取的字节数
+     */
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+
+    private final ObjectReader reader;
+
+    /**
+     * 区间开始位置，包含
+     */
+    private long start;
+
+    /**
+     * 区间结束位置，不包含
+     */
+    private final long end;
+
+    /**
+     * 开始读取后创建的解析器，创建后不再拆分
+     */
+    private JsonParser parser;
+
+    /**
+     * 上一个元素在区间内的行号，从1开始，尚未读取时为0
+     */
+    private int lastLine;
+
+    NdjsonSpliterator(FileChannel channel, ObjectReader reader, long start, long end) {
+        this.channel = channel;
+        this.reader = reader;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+            if (parser == null) {
+                parser = reader.getFactory().createParser(new RangeInputStream(channel, start, end));
+            }
+            if (parser.nextToken() == null) {
+                parser.close();
+                return false;
+            }
+            int line = parser.getTokenLocation().getLineNr();
+            T value = reader.readValue(parser);
+            NdjsonReader.checkSingleLine(parser, line, lastLine);
+            lastLine = line;
+            action.accept(value);
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("并行读取NDJSON文件时发生异常", e);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (parser != null || end - start < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        try {
+            long splitPosition = nextLineStart(start + (end - start) / 2);
+            if (splitPosition < 0) {
+                return null;
+            }
+            Spliterator<T> prefix = new NdjsonSpliterator<>(channel, reader, start, splitPosition);
+            start = splitPosition;
+            return prefix;
+        } catch (IOException e) {
+            throw new RuntimeException("并行读取NDJSON文件时发生异常", e);
+        }
+    }
+
+    /**
+     * 从给定位置向后查找换行符，返回换行符的下一个位置，区间内没有换行符时返回-1
+     */
+    private long nextLineStart(long from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(SCAN_BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    long lineStart = position + i + 1;
+                    return lineStart < end ? lineStart : -1;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    /**
+     * 估算值为区间的字节数，只用于并行拆分时比较各区间的大小
+     */
+    @Override
+    public long estimateSize() {
+        return end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    /**
+     * 按位置读取文件区间的输入流，不改变FileChannel的position，多个线程可以同时读取同一个FileChannel
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private final long end;
+
+        private RangeInputStream(FileChannel channel, long position, long end) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int length = (int) Math.min(len, end - position);
+            int read = channel.read(ByteBuffer.wrap(b, off, length), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.allen.tool.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * NDJSON(JSON Lines)写出器，每个对象写为一行Json，以\n结尾<br/>
+ * 对象直接序列化到同一个输出流，不生成中间的字符串；写出经过Jackson的缓冲区，只在缓冲区满、flush及close时写入输出流，
+ * 可选gzip压缩。由JsonUtil.ndjsonWriter创建，write方法是同步的，多个线程可以共用同一个写出器
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class NdjsonWriter implements Closeable, Flushable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NdjsonWriter.class);
+
+    /**
+     * gzip压缩的缓冲区大小
+     */
+    static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final JsonGenerator generator;
+
+    /**
+     * 写出单个对象的ObjectWriter，写出后不flush
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * 实际写入的输出流，gzip压缩时为压缩流
+     */
+    private final OutputStream target;
+
+    /**
+     * 关闭时是否关闭调用方的输出流
+     */
+    private final boolean closeTarget;
+
+    private boolean closed;
+
+    /**
+     * 创建写出器
+     *
+     * @param out         输出流
+     * @param gzip        是否gzip压缩
+     * @param closeTarget 关闭时是否关闭输出流
+     * @throws IOException 创建失败
+     */
+    NdjsonWriter(OutputStream out, boolean gzip, boolean closeTarget) throws IOException {
+        this.closeTarget = closeTarget;
+        this.target = gzip ? new GZIPOutputStream(closeTarget ? out : nonClosing(out), GZIP_BUFFER_SIZE) : out;
+        this.writer = JsonUtil.streamingWriter();
+        this.generator = writer.getFactory().createGenerator(target, JsonEncoding.UTF8);
+        // 每个对象后自行写出换行，不使用根节点之间默认的空格分隔符
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * 写出一个对象，占一行
+     *
+     * @param object 要写出的对象，为null时写出null
+     * @throws RuntimeException
+     */
+    public synchronized void write(Object object) {
+        ensureOpen();
+        try {
+            writer.writeValue(generator, object);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            LOGGER.error("将对象[{}]写出为NDJSON时发生异常", object, e);
+            throw new RuntimeException("将对象写出为NDJSON时发生异常", e);
+        }
+    }
+
+    /**
+     * 依次写出多个对象，每个对象占一行
+     *
+     * @param objects 要写出的对象
+     * @throws RuntimeException
+     */
+    public synchronized void writeAll(Iterable<?> objects) {
+        for (Object object : objects) {
+            write(object);
+        }
+    }
+
+    /**
+     * 将缓冲区的内容写入输出流，gzip压缩时只写入压缩流，压缩后的内容在close时写完
+     *
+     * @throws RuntimeException
+     */
+    @Override
+    public synchronized void flush() {
+        ensureOpen();
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            LOGGER.error("刷新NDJSON输出流时发生异常", e);
+            throw new RuntimeException("刷新NDJSON输出流时发生异常", e);
+        }
+    }
+
+    /**
+     * 写出缓冲区的内容，gzip压缩时写出压缩结尾，按创建方式决定是否关闭输出流
+     *
+     * @throws RuntimeException
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            generator.close();
+            if (target instanceof GZIPOutputStream || closeTarget) {
+                target.close();
+            } else {
+                target.flush();
+            }
+        } catch (IOException e) {
+            LOGGER.error("关闭NDJSON输出流时发生异常", e);
+            throw new RuntimeException("关闭NDJSON输出流时发生异常", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("NdjsonWriter is closed");
+        }
+    }
+
+    /**
+     * 关闭时不关闭被包装流的输出流，用于gzip压缩调用方的输出流
+     */
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,446 @@
+package com.allen.tool.reflect;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bean属性复制工具，按属性名匹配源对象的getter及目标对象的setter<br/>
+ * 每一对(源类型, 目标类型)只在第一次使用时生成复制计划，getter及setter编译为LambdaMetafactory生成的函数，
+ * 之后的复制只是依次调用这些函数，不再有任何反射查找。属性类型不一致时使用转换器转换，
+ * 内置基本类型与包装类型、数值类型之间、字符串与数值/布尔/枚举、Date与LocalDateTime/LocalDate的转换，
+ * 没有可用转换器的属性不复制；值为null且目标属性为基本类型时保留目标的原值。
+ * 转换为整数类型(Integer、Long、Short、Byte、BigInteger)时不截断，数值超出目标类型的范围或有小数部分时抛出ArithmeticException；
+ * 转换为Double、Float时可能损失精度。
+ * <p>
+ * 复制器缓存在两个类型中类加载器为后代的一方，只引用同一或祖先类加载器中的类，不会阻止子类加载器(如Web应用)被回收；
+ * 两个类型的类加载器互不为祖先时不缓存，每次create都重新生成复制计划
+ * </p>
+ * <p>
+ * ignore及withConverter返回新的复制器，不影响缓存的复制器，需要由调用方保存后复用，如保存在静态变量中
+ * </p>
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ * @author allen
+ * @since 1.0.0
+ */
+public final class BeanCopier<S, T> {
+
+	/**
+	 * 目标类型对应的源类型及复制器，源类型的类加载器为目标类型的类加载器或其祖先
+	 */
+	private static final ClassValue<Map<Class<?>, BeanCopier<?, ?>>> COPIERS_BY_TARGET = newCache();
+
+	/**
+	 * 源类型对应的目标类型及复制器，目标类型的类加载器为源类型的类加载器的祖先
+	 */
+	private static final ClassValue<Map<Class<?>, BeanCopier<?, ?>>> COPIERS_BY_SOURCE = newCache();
+
+	private final Class<S> sourceType;
+
+	private final Class<T> targetType;
+
+	/**
+	 * 忽略的目标属性
+	 */
+	private final Set<String> ignoreProperties;
+
+	/**
+	 * 自定义转换器，key为源属性类型及目标属性类型
+	 */
+	private final Map<List<Class<?>>, Function<Object, Object>> converters;
+
+	/**
+	 * 复制计划，每个元素对应一个需要复制的属性
+	 */
+	private final Step[] steps;
+
+	private BeanCopier(Class<S> sourceType, Class<T> targetType, Set<String> ignoreProperties,
+			Map<List<Class<?>>, Function<Object, Object>> converters) {
+		this.sourceType = sourceType;
+		this.targetType = targetType;
+		this.ignoreProperties = ignoreProperties;
+		this.converters = converters;
+		this.steps = compile();
+	}
+
+	/**
+	 * 获取给定源类型及目标类型的复制器，同一对类型只生成一次复制计划
+	 *
+	 * @param sourceType 源类型
+	 * @param targetType 目标类型
+	 * @return 复制器
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, T> BeanCopier<S, T> create(Class<S> sourceType, Class<T> targetType) {
+		Map<Class<?>, BeanCopier<?, ?>> copiers;
+		Class<?> key;
+		if (isAncestor(sourceType.getClassLoader(), targetType.getClassLoader())) {
+			copiers = COPIERS_BY_TARGET.get(targetType);
+			key = sourceType;
+		} else if (isAncestor(targetType.getClassLoader(), sourceType.getClassLoader())) {
+			copiers = COPIERS_BY_SOURCE.get(sourceType);
+			key = targetType;
+		} else {
+			return new BeanCopier<>(sourceType, targetType, Collections.emptySet(), Collections.emptyMap());
+		}
+		BeanCopier<?, ?> copier = copiers.get(key);
+		if (copier == null) {
+			copier = copiers.computeIfAbsent(key, type -> new BeanCopier<>(sourceType, targetType,
+					Collections.emptySet(), Collections.emptyMap()));
+		}
+		return (BeanCopier<S, T>) copier;
+	}
+
+	/**
+	 * 将源对象的属性复制到目标对象，按两个对象的实际类型使用缓存的复制器
+	 *
+	 * @param source           源对象
+	 * @param target           目标对象
+	 * @param ignoreProperties 不需要复制的目标属性
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static void copyProperties(Object source, Object target, String... ignoreProperties) {
+		if (source == null || target == null) {
+			throw new NullPointerException("source and target can't be null");
+		}
+		BeanCopier copier = create(source.getClass(), target.getClass());
+		if (ignoreProperties == null || ignoreProperties.length == 0) {
+			copier.copy(source, target);
+		} else {
+			copier.copy(source, target, ignoreProperties);
+		}
+	}
+
+	/**
+	 * 返回忽略给定目标属性的新复制器
+	 *
+	 * @param properties 不需要复制的目标属性
+	 * @return 新的复制器
+	 */
+	public BeanCopier<S, T> ignore(String... properties) {
+		Set<String> ignores = new HashSet<>(ignoreProperties);
+		ignores.addAll(Arrays.asList(properties));
+		return new BeanCopier<>(sourceType, targetType, Collections.unmodifiableSet(ignores), converters);
+	}
+
+	/**
+	 * 返回使用给定转换器的新复制器，源属性类型为from且目标属性类型为to时使用该转换器，优先于内置转换器
+	 *
+	 * @param from      源属性类型
+	 * @param to        目标属性类型
+	 * @param converter 转换器，只对非null的值调用
+	 * @return 新的复制器
+	 */
+	@SuppressWarnings("unchecked")
+	public <A, B> BeanCopier<S, T> withConverter(Class<A> from, Class<B> to, Function<? super A, ? extends B> converter) {
+		Map<List<Class<?>>, Function<Object, Object>> newConverters = new HashMap<>(converters);
+		newConverters.put(Arrays.asList(from, to), (Function<Object, Object>) converter);
+		return new BeanCopier<>(sourceType, targetType, ignoreProperties, Collections.unmodifiableMap(newConverters));
+	}
+
+	/**
+	 * 将源对象的属性复制到目标对象
+	 *
+	 * @param source 源对象
+	 * @param target 目标对象
+	 */
+	public void copy(S source, T target) {
+		for (Step step : steps) {
+			step.copy(source, target);
+		}
+	}
+
+	/**
+	 * 将源对象的属性复制到目标对象，并跳过给定的目标属性
+	 *
+	 * @param source           源对象
+	 * @param target           目标对象
+	 * @param ignoreProperties 不需要复制的目标属性
+	 */
+	public void copy(S source, T target, String... ignoreProperties) {
+		for (Step step : steps) {
+			if (!contains(ignoreProperties, step.name)) {
+				step.copy(source, target);
+			}
+		}
+	}
+
+	/**
+	 * 使用目标类型的无参构造方法创建目标对象，并将源对象的属性复制到目标对象
+	 *
+	 * @param source 源对象
+	 * @return 目标对象
+	 */
+	@SuppressWarnings("unchecked")
+	public T copy(S source) {
+		T target = (T) BeanSchema.of(targetType).newInstance();
+		copy(source, target);
+		return target;
+	}
+
+	/**
+	 * 复制到新的目标对象列表
+	 *
+	 * @param sources 源对象列表
+	 * @return 目标对象列表
+	 */
+	public List<T> copyList(List<? extends S> sources) {
+		List<T> targets = new ArrayList<>(sources.size());
+		for (S source : sources) {
+			targets.add(source == null ? null : copy(source));
+		}
+		return targets;
+	}
+
+	/**
+	 * 需要复制的目标属性名，按目标类型的属性名排序
+	 *
+	 * @return 属性名列表
+	 */
+	public List<String> getProperties() {
+		List<String> properties = new ArrayList<>(steps.length);
+		for (Step step : steps) {
+			properties.add(step.name);
+		}
+		return properties;
+	}
+
+	/**
+	 * 生成复制计划
+	 */
+	private Step[] compile() {
+		BeanSchema sourceSchema = BeanSchema.of(sourceType);
+		List<Step> stepList = new ArrayList<>();
+		for (BeanSchema.BeanProperty targetProperty : BeanSchema.of(targetType).getProperties()) {
+			BeanSchema.BeanProperty sourceProperty = sourceSchema.getProperty(targetProperty.name);
+			if (targetProperty.setter == null || sourceProperty == null || sourceProperty.getter == null
+					|| ignoreProperties.contains(targetProperty.name)) {
+				continue;
+			}
+			Class<?> from = sourceProperty.readMethod.getReturnType();
+			Class<?> to = targetProperty.writeMethod.getParameterTypes()[0];
+			Function<Object, Object> converter = null;
+			if (!PropertyAccessor.wrap(to).isAssignableFrom(PropertyAccessor.wrap(from))) {
+				converter = findConverter(from, to);
+				if (converter == null) {
+					continue;
+				}
+			}
+			stepList.add(new Step(targetProperty.name, sourceProperty.getter, converter, targetProperty.setter,
+					to.isPrimitive()));
+		}
+		return stepList.toArray(new Step[0]);
+	}
+
+	/**
+	 * 查找转换器，自定义转换器优先
+	 */
+	private Function<Object, Object> findConverter(Class<?> from, Class<?> to) {
+		Function<Object, Object> converter = converters.get(Arrays.asList(from, to));
+		if (converter == null) {
+			converter = converters.get(Arrays.asList(PropertyAccessor.wrap(from), PropertyAccessor.wrap(to)));
+		}
+		return converter != null ? converter : defaultConverter(PropertyAccessor.wrap(from), PropertyAccessor.wrap(to));
+	}
+
+	/**
+	 * 内置转换器
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Function<Object, Object> defaultConverter(Class<?> from, Class<?> to) {
+		if (to == String.class) {
+			if (Number.class.isAssignableFrom(from) || from == Boolean.class || from == Character.class
+					|| Enum.class.isAssignableFrom(from) || from == LocalDate.class || from == LocalDateTime.class) {
+				return value -> value instanceof Enum ? ((Enum) value).name() : value.toString();
+			}
+			return null;
+		}
+		if (Number.class.isAssignableFrom(from) && Number.class.isAssignableFrom(to)) {
+			Function<Number, Object> numberConverter = numberConverter(to);
+			return numberConverter == null ? null : value -> numberConverter.apply((Number) value);
+		}
+		if (from == String.class) {
+			if (Number.class.isAssignableFrom(to)) {
+				Function<Number, Object> numberConverter = numberConverter(to);
+				return numberConverter == null ? null
+						: value -> numberConverter.apply(new BigDecimal(((String) value).trim()));
+			}
+			if (to == Boolean.class) {
+				return value -> Boolean.valueOf(((String) value).trim());
+			}
+			if (to.isEnum()) {
+				return value -> Enum.valueOf((Class) to, ((String) value).trim());
+			}
+			return null;
+		}
+		if (from == Date.class) {
+			if (to == LocalDateTime.class) {
+				return value -> LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+			}
+			if (to == LocalDate.class) {
+				return value -> LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate();
+			}
+			return null;
+		}
+		if (to == Date.class) {
+			if (from == LocalDateTime.class) {
+				return value -> Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant());
+			}
+			if (from == LocalDate.class) {
+				return value -> Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+			}
+			if (from == Instant.class) {
+				return value -> Date.from((Instant) value);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 数值类型之间的转换器，转换为整数类型时不截断
+	 */
+	private static Function<Number, Object> numberConverter(Class<?> to) {
+		if (to == Integer.class) {
+			return value -> (int) toLongExact(value, Integer.MIN_VALUE, Integer.MAX_VALUE, to);
+		} else if (to == Long.class) {
+			return value -> toLongExact(value, Long.MIN_VALUE, Long.MAX_VALUE, to);
+		} else if (to == Double.class) {
+			return Number::doubleValue;
+		} else if (to == Float.class) {
+			return Number::floatValue;
+		} else if (to == Short.class) {
+			return value -> (short) toLongExact(value, Short.MIN_VALUE, Short.MAX_VALUE, to);
+		} else if (to == Byte.class) {
+			return value -> (byte) toLongExact(value, Byte.MIN_VALUE, Byte.MAX_VALUE, to);
+		} else if (to == BigDecimal.class) {
+			return BeanCopier::toBigDecimal;
+		} else if (to == BigInteger.class) {
+			return value -> {
+				if (value instanceof BigInteger) {
+					return value;
+				}
+				try {
+					return toBigDecimal(value).toBigIntegerExact();
+				} catch (ArithmeticException e) {
+					throw new ArithmeticException("Value " + value + " can't be converted to " + to.getName() + " exactly");
+				}
+			};
+		}
+		return null;
+	}
+
+	private static BigDecimal toBigDecimal(Number value) {
+		return value instanceof BigDecimal ? (BigDecimal) value
+				: value instanceof BigInteger ? new BigDecimal((BigInteger) value) : new BigDecimal(value.toString());
+	}
+
+	/**
+	 * 转换为long，数值超出[min, max]或有小数部分时抛出ArithmeticException
+	 */
+	private static long toLongExact(Number value, long min, long max, Class<?> to) {
+		long result;
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			result = value.longValue();
+		} else {
+			try {
+				result = toBigDecimal(value).longValueExact();
+			} catch (ArithmeticException | NumberFormatException e) {
+				throw new ArithmeticException("Value " + value + " can't be converted to " + to.getName() + " exactly");
+			}
+		}
+		if (result < min || result > max) {
+			throw new ArithmeticException("Value " + value + " can't be converted to " + to.getName() + " exactly");
+		}
+		return result;
+	}
+
+	private static ClassValue<Map<Class<?>, BeanCopier<?, ?>>> newCache() {
+		return new ClassValue<Map<Class<?>, BeanCopier<?, ?>>>() {
+			@Override
+			protected Map<Class<?>, BeanCopier<?, ?>> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
+	}
+
+	/**
+	 * ancestor是否为loader本身或其祖先，null表示启动类加载器，是所有类加载器的祖先
+	 */
+	private static boolean isAncestor(ClassLoader ancestor, ClassLoader loader) {
+		if (ancestor == null) {
+			return true;
+		}
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(String[] array, String value) {
+		for (String element : array) {
+			if (value.equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 复制计划中的一个属性
+	 */
+	private static final class Step {
+
+		private final String name;
+
+		private final Function<Object, Object> getter;
+
+		private final Function<Object, Object> converter;
+
+		private final BiConsumer<Object, Object> setter;
+
+		/**
+		 * 目标属性是否为基本类型，为基本类型时不复制null
+		 */
+		private final boolean primitive;
+
+		private Step(String name, Function<Object, Object> getter, Function<Object, Object> converter,
+				BiConsumer<Object, Object> setter, boolean primitive) {
+			this.name = name;
+			this.getter = getter;
+			this.converter = converter;
+			this.setter = setter;
+			this.primitive = primitive;
+		}
+
+		private void copy(Object source, Object target) {
+			Object value = getter.apply(source);
+			if (value == null) {
+				if (primitive) {
+					return;
+				}
+			} else if (converter != null) {
+				value = converter.apply(value);
+			}
+			setter.accept(target, value);
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package com.allen.tool.reflect;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 类的Bean属性结构，按JavaBeans规范(getX/isX/setX)识别属性，每个类只解析一次<br/>
+ * getter及setter在解析时编译为函数，供ReflectUtil.toMap/fromMap及BeanCopier使用；
+ * 属性按属性名排序，可读属性的顺序即toArray返回数组的顺序
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class BeanSchema {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<BeanSchema> SCHEMAS = new ClassValue<BeanSchema>() {
+		@Override
+		protected BeanSchema computeValue(Class<?> type) {
+			return new BeanSchema(type);
+		}
+	};
+
+	private final Class<?> type;
+
+	/**
+	 * 所有属性，按属性名排序
+	 */
+	private final BeanProperty[] properties;
+
+	/**
+	 * 所有属性，key为属性名
+	 */
+	private final Map<String, BeanProperty> propertyMap = new HashMap<>();
+
+	/**
+	 * 可读属性，按属性名排序
+	 */
+	private final BeanProperty[] readableProperties;
+
+	/**
+	 * 可读属性名，与readableProperties顺序一致
+	 */
+	private final List<String> readableNames;
+
+	/**
+	 * 无参构造方法，不存在时为null
+	 */
+	private final MethodHandle constructor;
+
+	private BeanSchema(Class<?> type) {
+		List<BeanProperty> all = new ArrayList<>();
+		List<BeanProperty> readable = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for (PropertyDescriptor descriptor : propertyDescriptors(type)) {
+			if (descriptor.getReadMethod() == null && descriptor.getWriteMethod() == null) {
+				continue;
+			}
+			BeanProperty property = new BeanProperty(descriptor.getName(), descriptor.getReadMethod(),
+					descriptor.getWriteMethod());
+			all.add(property);
+			propertyMap.put(property.name, property);
+			if (property.getter != null) {
+				readable.add(property);
+				names.add(property.name);
+			}
+		}
+		this.type = type;
+		this.properties = all.toArray(new BeanProperty[0]);
+		this.readableProperties = readable.toArray(new BeanProperty[0]);
+		this.readableNames = Collections.unmodifiableList(names);
+		this.constructor = findConstructor(type);
+	}
+
+	/**
+	 * 获取类的属性结构
+	 *
+	 * @param type 类
+	 * @return 属性结构
+	 */
+	static BeanSchema of(Class<?> type) {
+		return SCHEMAS.get(type);
+	}
+
+	/**
+	 * 按属性名查找属性
+	 *
+	 * @param name 属性名
+	 * @return 属性，不存在时返回null
+	 */
+	BeanProperty getProperty(String name) {
+		return propertyMap.get(name);
+	}
+
+	/**
+	 * 所有属性，按属性名排序，调用方不能修改返回的数组
+	 *
+	 * @return 所有属性
+	 */
+	BeanProperty[] getProperties() {
+		return properties;
+	}
+
+	/**
+	 * 可读属性，按属性名排序，调用方不能修改返回的数组
+	 *
+	 * @return 可读属性
+	 */
+	BeanProperty[] getReadableProperties() {
+		return readableProperties;
+	}
+
+	/**
+	 * 可读属性名，按属性名排序
+	 *
+	 * @return 不可修改的属性名列表
+	 */
+	List<String> getReadableNames() {
+		return readableNames;
+	}
+
+	/**
+	 * 使用无参构造方法创建对象
+	 *
+	 * @return 新的对象
+	 */
+	Object newInstance() {
+		if (constructor == null) {
+			throw new IllegalStateException("No default constructor on " + type.getName());
+		}
+		try {
+			return constructor.invokeExact();
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not instantiate " + type.getName(), e);
+		}
+	}
+
+	private static MethodHandle findConstructor(Class<?> type) {
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			if (!constructor.isAccessible()) {
+				constructor.setAccessible(true);
+			}
+			return LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static List<PropertyDescriptor> propertyDescriptors(Class<?> type) {
+		try {
+			BeanInfo beanInfo = Introspector.getBeanInfo(type, Object.class);
+			return Arrays.asList(beanInfo.getPropertyDescriptors());
+		} catch (IntrospectionException e) {
+			throw new IllegalArgumentException("Could not introspect " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * Bean属性，getter或setter不存在时对应的字段为null
+	 */
+	static final class BeanProperty {
+
+		final String name;
+
+		final Method readMethod;
+
+		final Method writeMethod;
+
+		final Function<Object, Object> getter;
+
+		final BiConsumer<Object, Object> setter;
+
+		/**
+		 * setter参数的包装类型
+		 */
+		final Class<?> writeType;
+
+		/**
+		 * setter参数是否为基本类型
+		 */
+		final boolean primitiveWrite;
+
+		private BeanProperty(String name, Method readMethod, Method writeMethod) {
+			this.name = name;
+			this.readMethod = readMethod;
+			this.writeMethod = writeMethod;
+			if (readMethod != null) {
+				ReflectUtil.makeAccessible(readMethod);
+				this.getter = PropertyAccessor.compileGetter(readMethod);
+			} else {
+				this.getter = null;
+			}
+			if (writeMethod != null) {
+				ReflectUtil.makeAccessible(writeMethod);
+				Class<?> parameterType = writeMethod.getParameterTypes()[0];
+				this.setter = PropertyAccessor.compileSetter(writeMethod);
+				this.writeType = PropertyAccessor.wrap(parameterType);
+				this.primitiveWrite = parameterType.isPrimitive();
+			} else {
+				this.setter = null;
+				this.writeType = null;
+				this.primitiveWrite = false;
+			}
+		}
+
+		/**
+		 * 读取属性值，getter抛出的异常包装为RuntimeException
+		 */
+		Object get(Object obj) {
+			try {
+				return getter.apply(obj);
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		/**
+		 * 设置属性值，基本类型的参数与Method.invoke一样接受可以拓宽的包装类型，其他类型不匹配时抛出IllegalArgumentException
+		 */
+		void set(Object obj, Object value) {
+			Object argument = value;
+			if (value == null ? primitiveWrite : !writeType.isInstance(value)) {
+				argument = primitiveWrite && value != null ? PropertyAccessor.widen(value, writeType) : null;
+				if (argument == null) {
+					throw new IllegalArgumentException("argument type mismatch: " + name);
+				}
+			}
+			try {
+				setter.accept(obj, argument);
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.allen.tool.reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 类的反射元数据缓存，包含从当前类向上到Object(不包含)声明的所有属性及方法，已强制设置为可访问<br/>
+ * 每个类只在第一次使用时扫描一次，之后的查找只是一次哈希查找，不创建对象也不依赖异常；
+ * 索引是完整的，查找不到即为不存在，不存在的属性及方法同样不会重复扫描。
+ * 元数据保存在ClassValue中，随类一起回收，不会阻止重新部署后的类加载器卸载
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class ClassMetadata {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClassMetadata.class);
+
+	private static final Class<?>[] EMPTY_PARAMETER_TYPES = new Class<?>[0];
+
+	private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> type) {
+			return new ClassMetadata(type);
+		}
+	};
+
+	/**
+	 * 属性名对应的属性，子类的属性优先
+	 */
+	private final Map<String, Field> fields = new HashMap<>();
+
+	/**
+	 * 方法名对应的所有方法，按子类到父类、getDeclaredMethods的顺序排列
+	 */
+	private final Map<String, MethodEntry[]> methods = new HashMap<>();
+
+	private ClassMetadata(Class<?> type) {
+		Map<String, List<MethodEntry>> methodLists = new HashMap<>();
+		for (Class<?> searchType = type; searchType != null && searchType != Object.class; searchType = searchType
+				.getSuperclass()) {
+			for (Field field : searchType.getDeclaredFields()) {
+				if (!fields.containsKey(field.getName())) {
+					makeAccessible(field);
+					fields.put(field.getName(), field);
+				}
+			}
+			Method[] declaredMethods = searchType.getDeclaredMethods();
+			// 同一个类中非桥接方法优先，签名相同时与getDeclaredMethod一致，忽略桥接方法
+			for (Method method : declaredMethods) {
+				if (!method.isBridge()) {
+					addMethod(methodLists, method);
+				}
+			}
+			for (Method method : declaredMethods) {
+				if (method.isBridge() && !hasSameSignature(declaredMethods, method)) {
+					addMethod(methodLists, method);
+				}
+			}
+		}
+		for (Map.Entry<String, List<MethodEntry>> entry : methodLists.entrySet()) {
+			methods.put(entry.getKey(), entry.getValue().toArray(new MethodEntry[0]));
+		}
+	}
+
+	/**
+	 * 获取类的元数据
+	 *
+	 * @param type 类
+	 * @return 元数据
+	 */
+	static ClassMetadata of(Class<?> type) {
+		return METADATA.get(type);
+	}
+
+	/**
+	 * 按属性名查找属性
+	 *
+	 * @param fieldName 属性名
+	 * @return 属性，不存在时返回null
+	 */
+	Field getField(String fieldName) {
+		return fields.get(fieldName);
+	}
+
+	/**
+	 * 按方法名及参数类型查找方法，子类的方法优先
+	 *
+	 * @param methodName     方法名
+	 * @param parameterTypes 参数类型
+	 * @return 方法，不存在时返回null
+	 */
+	Method getMethod(String methodName, Class<?>[] parameterTypes) {
+		MethodEntry[] candidates = methods.get(methodName);
+		if (candidates == null) {
+			return null;
+		}
+		Class<?>[] types = parameterTypes == null ? EMPTY_PARAMETER_TYPES : parameterTypes;
+		for (MethodEntry candidate : candidates) {
+			if (Arrays.equals(candidate.parameterTypes, types)) {
+				return candidate.method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 按方法名及参数个数查找方法，子类的方法优先
+	 *
+	 * @param methodName     方法名
+	 * @param parameterCount 参数个数
+	 * @return 方法，不存在时返回null
+	 */
+	Method getMethod(String methodName, int parameterCount) {
+		MethodEntry[] candidates = methods.get(methodName);
+		if (candidates == null) {
+			return null;
+		}
+		for (MethodEntry candidate : candidates) {
+			if (candidate.parameterTypes.length == parameterCount) {
+				return candidate.method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 按方法名查找方法，有多个同名方法时返回第一个
+	 *
+	 * @param methodName 方法名
+	 * @return 方法，不存在时返回null
+	 */
+	Method getMethodByName(String methodName) {
+		MethodEntry[] candidates = methods.get(methodName);
+		return candidates == null ? null : candidates[0].method;
+	}
+
+	private static void addMethod(Map<String, List<MethodEntry>> methodLists, Method method) {
+		makeAccessible(method);
+		methodLists.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(new MethodEntry(method));
+	}
+
+	/**
+	 * 同一个类中是否存在与给定桥接方法签名相同的非桥接方法
+	 */
+	private static boolean hasSameSignature(Method[] declaredMethods, Method bridge) {
+		for (Method method : declaredMethods) {
+			if (!method.isBridge() && method.getName().equals(bridge.getName())
+					&& Arrays.equals(method.getParameterTypes(), bridge.getParameterTypes())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void makeAccessible(Field field) {
+		try {
+			ReflectUtil.makeAccessible(field);
+		} catch (RuntimeException e) {
+			LOGGER.debug("Could not make field {} accessible", field, e);
+		}
+	}
+
+	private static void makeAccessible(Method method) {
+		try {
+			ReflectUtil.makeAccessible(method);
+		} catch (RuntimeException e) {
+			LOGGER.debug("Could not make method {} accessible", method, e);
+		}
+	}
+
+	/**
+	 * 方法及其参数类型，Method.getParameterTypes()每次都会复制数组，因此只在扫描时调用一次
+	 */
+	private static final class MethodEntry {
+
+		private final Method method;
+
+		private final Class<?>[] parameterTypes;
+
+		private MethodEntry(Method method) {
+			this.method = method;
+			this.parameterTypes = method.getParameterTypes();
+		}
+	}
+}
@@ -0,0 +1,370 @@
+package com.allen.tool.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.allen.tool.string.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 属性访问器，按(类型, 属性路径)缓存，支持多级属性，如：customer.address.city<br/>
+ * getter及setter在第一次访问时编译为LambdaMetafactory生成的Function/BiConsumer，之后的访问接近直接调用的速度；
+ * 方法或类型不是public、或者类型对当前类加载器不可见时退化为MethodHandle调用。
+ * 中间级属性的实际类型与声明类型不一致时，按实际类型查找对应的访问器
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+public final class PropertyAccessor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyAccessor.class);
+
+	private static final String SETTER_PREFIX = "set";
+
+	private static final String GETTER_PREFIX = "get";
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * 类型对应的属性路径访问器，随类型一起回收，不会阻止类加载器卸载
+	 */
+	private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<Map<String, PropertyAccessor>>() {
+		@Override
+		protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * 类型对应的单级属性，包括找不到getter或setter的属性
+	 */
+	private static final ClassValue<Map<String, Property>> PROPERTIES = new ClassValue<Map<String, Property>>() {
+		@Override
+		protected Map<String, Property> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * 属性路径
+	 */
+	private final String path;
+
+	/**
+	 * 每一级的属性名
+	 */
+	private final String[] names;
+
+	/**
+	 * 每一级按声明类型解析的属性，声明类型无法确定时为null
+	 */
+	private final Property[] properties;
+
+	private PropertyAccessor(Class<?> type, String path) {
+		this.path = path;
+		this.names = StringUtil.split(path, ".");
+		this.properties = new Property[names.length];
+		Class<?> currentType = type;
+		for (int i = 0; i < names.length && currentType != null; i++) {
+			properties[i] = Property.of(currentType, names[i]);
+			currentType = properties[i].getterMethod == null ? null : properties[i].getterMethod.getReturnType();
+		}
+	}
+
+	/**
+	 * 获取给定类型及属性路径对应的访问器，同一类型的同一属性路径只解析一次
+	 *
+	 * @param type         类型
+	 * @param propertyPath 属性路径，多级属性以.分隔
+	 * @return 属性访问器
+	 */
+	public static PropertyAccessor of(Class<?> type, String propertyPath) {
+		Map<String, PropertyAccessor> accessors = ACCESSORS.get(type);
+		PropertyAccessor accessor = accessors.get(propertyPath);
+		if (accessor == null) {
+			accessor = accessors.computeIfAbsent(propertyPath, path -> new PropertyAccessor(type, path));
+		}
+		return accessor;
+	}
+
+	/**
+	 * 属性路径
+	 *
+	 * @return 属性路径
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * 通过getter读取属性值
+	 *
+	 * @param obj 给定的对象
+	 * @return 属性值
+	 */
+	public Object get(Object obj) {
+		Object object = obj;
+		for (int i = 0; i < names.length; i++) {
+			object = property(object, i).get(object);
+		}
+		return object;
+	}
+
+	/**
+	 * 通过setter设置属性值，中间级属性通过getter读取
+	 *
+	 * @param obj   给定的对象
+	 * @param value 属性值
+	 */
+	public void set(Object obj, Object value) {
+		Object object = obj;
+		int last = names.length - 1;
+		for (int i = 0; i < last; i++) {
+			object = property(object, i).get(object);
+		}
+		property(object, last).set(object, value);
+	}
+
+	/**
+	 * 取第index级属性，对象的实际类型与声明类型不一致时按实际类型查找
+	 */
+	private Property property(Object object, int index) {
+		if (object == null) {
+			throw new NullPointerException("object can't be null");
+		}
+		Property property = properties[index];
+		if (property == null || property.type != object.getClass()) {
+			property = Property.of(object.getClass(), names[index]);
+		}
+		return property;
+	}
+
+	/**
+	 * 单级属性的getter及setter
+	 */
+	private static final class Property {
+
+		private final Class<?> type;
+
+		private final String getterName;
+
+		private final String setterName;
+
+		private final Method getterMethod;
+
+		private final Function<Object, Object> getter;
+
+		private final BiConsumer<Object, Object> setter;
+
+		/**
+		 * setter参数的包装类型
+		 */
+		private final Class<?> setterType;
+
+		/**
+		 * setter参数是否为基本类型
+		 */
+		private final boolean primitiveSetter;
+
+		private Property(Class<?> type, String name) {
+			String capitalized = StringUtil.capitalize(name);
+			this.type = type;
+			this.getterName = GETTER_PREFIX + capitalized;
+			this.setterName = SETTER_PREFIX + capitalized;
+			this.getterMethod = ClassMetadata.of(type).getMethod(getterName, 0);
+			this.getter = getterMethod == null ? null : compileGetter(getterMethod);
+			Method setterMethod = ClassMetadata.of(type).getMethod(setterName, 1);
+			if (setterMethod == null) {
+				this.setter = null;
+				this.setterType = null;
+				this.primitiveSetter = false;
+			} else {
+				Class<?> parameterType = setterMethod.getParameterTypes()[0];
+				this.setter = compileSetter(setterMethod);
+				this.setterType = wrap(parameterType);
+				this.primitiveSetter = parameterType.isPrimitive();
+			}
+		}
+
+		private static Property of(Class<?> type, String name) {
+			Map<String, Property> properties = PROPERTIES.get(type);
+			Property property = properties.get(name);
+			if (property == null) {
+				property = properties.computeIfAbsent(name, key -> new Property(type, key));
+			}
+			return property;
+		}
+
+		private Object get(Object obj) {
+			if (getter == null) {
+				throw new IllegalArgumentException("Could not find method [" + getterName + "] on target [" + obj + "]");
+			}
+			try {
+				return getter.apply(obj);
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		private void set(Object obj, Object value) {
+			if (setter == null) {
+				throw new IllegalArgumentException("Could not find method [" + setterName + "] on target [" + obj + "]");
+			}
+			Object argument = value;
+			if (value == null ? primitiveSetter : !setterType.isInstance(value)) {
+				argument = primitiveSetter && value != null ? widen(value, setterType) : null;
+				if (argument == null) {
+					throw new IllegalArgumentException("argument type mismatch");
+				}
+			}
+			try {
+				setter.accept(obj, argument);
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * 将getter编译为Function
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> compileGetter(Method method) {
+		MethodHandle handle = unreflect(method);
+		if (isLambdaCapable(method)) {
+			try {
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+						MethodType.methodType(Object.class, Object.class), handle,
+						MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+				return (Function<Object, Object>) site.getTarget().invokeExact();
+			} catch (Throwable e) {
+				LOGGER.debug("Could not spin lambda for {}, fall back to MethodHandle", method, e);
+			}
+		}
+		MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+		return obj -> {
+			try {
+				return generic.invokeExact(obj);
+			} catch (Throwable e) {
+				throw sneakyThrow(e);
+			}
+		};
+	}
+
+	/**
+	 * 将setter编译为BiConsumer，setter的返回值被忽略
+	 */
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> compileSetter(Method method) {
+		MethodHandle handle = unreflect(method);
+		if (isLambdaCapable(method)) {
+			try {
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+						MethodType.methodType(void.class, Object.class, Object.class), handle,
+						MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+				return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+			} catch (Throwable e) {
+				LOGGER.debug("Could not spin lambda for {}, fall back to MethodHandle", method, e);
+			}
+		}
+		MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		return (obj, value) -> {
+			try {
+				generic.invokeExact(obj, value);
+			} catch (Throwable e) {
+				throw sneakyThrow(e);
+			}
+		};
+	}
+
+	private static MethodHandle unreflect(Method method) {
+		try {
+			return LOOKUP.unreflect(method);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * 只有public类型的public方法，且类型对当前类加载器可见时才能生成lambda
+	 */
+	private static boolean isLambdaCapable(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+			return false;
+		}
+		try {
+			return Class.forName(declaringClass.getName(), false, PropertyAccessor.class.getClassLoader()) == declaringClass;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	static Class<?> wrap(Class<?> type) {
+		return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+	}
+
+	/**
+	 * 与Method.invoke一致，将包装类型的值拆箱后按基本类型的拓宽规则转换，如Integer转换为long参数需要的Long
+	 *
+	 * @param value       值，不能为null
+	 * @param wrapperType 基本类型参数对应的包装类型
+	 * @return 转换后的值，不能拓宽时返回null
+	 */
+	static Object widen(Object value, Class<?> wrapperType) {
+		int from = wideningRank(value.getClass());
+		int to = wideningRank(wrapperType);
+		if (from == 0 || to == 0 || from > to || wrapperType == Character.class
+				|| (value instanceof Character && wrapperType == Short.class)) {
+			return null;
+		}
+		Number number = value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+		if (wrapperType == Short.class) {
+			return number.shortValue();
+		} else if (wrapperType == Integer.class) {
+			return number.intValue();
+		} else if (wrapperType == Long.class) {
+			return number.longValue();
+		} else if (wrapperType == Float.class) {
+			return number.floatValue();
+		} else if (wrapperType == Double.class) {
+			return number.doubleValue();
+		}
+		return null;
+	}
+
+	/**
+	 * 基本类型拓宽的顺序，byte < short、char < int < long < float < double，不能拓宽的类型为0
+	 */
+	private static int wideningRank(Class<?> type) {
+		if (type == Byte.class) {
+			return 1;
+		} else if (type == Short.class || type == Character.class) {
+			return 2;
+		} else if (type == Integer.class) {
+			return 3;
+		} else if (type == Long.class) {
+			return 4;
+		} else if (type == Float.class) {
+			return 5;
+		} else if (type == Double.class) {
+			return 6;
+		}
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+		throw (E) e;
+	}
+}
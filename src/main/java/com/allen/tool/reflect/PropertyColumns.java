@@ -0,0 +1,189 @@
+package com.allen.tool.reflect;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 从对象列表中批量读取同一属性，属性路径只解析一次，供ReflectUtil的getColumn系列方法使用<br/>
+ * 并行模式下按下标区间拆分到ForkJoinPool.commonPool()，列表长度不足PARALLEL_THRESHOLD的两倍时仍在当前线程执行
+ *
+ * @author allen
+ * @since 1.0.0
+ */
+final class PropertyColumns {
+
+	/**
+	 * 并行读取的最小列表长度，也是拆分后每个子任务的最小长度
+	 */
+	static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * 禁止实例化
+	 */
+	private PropertyColumns() {
+
+	}
+
+	/**
+	 * 读取属性值
+	 *
+	 * @param list         对象列表
+	 * @param propertyName 属性名，支持多级
+	 * @param parallel     是否并行
+	 * @return 属性值数组
+	 */
+	static Object[] getValues(List<?> list, String propertyName, boolean parallel) {
+		Object[] values = new Object[list.size()];
+		forEach(list, propertyName, parallel, (index, value) -> values[index] = value);
+		return values;
+	}
+
+	/**
+	 * 读取数值属性，null读取为0，超出long的范围或有小数部分时抛出IllegalArgumentException
+	 */
+	static long[] getLongs(List<?> list, String propertyName, boolean parallel) {
+		long[] values = new long[list.size()];
+		forEach(list, propertyName, parallel,
+				(index, value) -> values[index] = toLongExact(value, propertyName, index, Long.MIN_VALUE, Long.MAX_VALUE));
+		return values;
+	}
+
+	/**
+	 * 读取数值属性，null读取为0，超出int的范围或有小数部分时抛出IllegalArgumentException
+	 */
+	static int[] getInts(List<?> list, String propertyName, boolean parallel) {
+		int[] values = new int[list.size()];
+		forEach(list, propertyName, parallel, (index, value) -> values[index] = (int) toLongExact(value, propertyName,
+				index, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		return values;
+	}
+
+	/**
+	 * 读取数值属性，null读取为0
+	 */
+	static double[] getDoubles(List<?> list, String propertyName, boolean parallel) {
+		double[] values = new double[list.size()];
+		forEach(list, propertyName, parallel,
+				(index, value) -> values[index] = toNumber(value, propertyName).doubleValue());
+		return values;
+	}
+
+	/**
+	 * 依次读取每个元素的属性值并交给consumer处理，不同下标的consumer调用可能并行执行
+	 */
+	private static void forEach(List<?> list, String propertyName, boolean parallel, IndexedConsumer consumer) {
+		int size = list.size();
+		if (size == 0) {
+			return;
+		}
+		List<?> elements = list instanceof RandomAccess ? list : Arrays.asList(list.toArray());
+		Object first = elements.get(0);
+		if (first == null) {
+			throw new NullPointerException("object can't be null");
+		}
+		PropertyAccessor accessor = PropertyAccessor.of(first.getClass(), propertyName);
+		if (!parallel || size < PARALLEL_THRESHOLD * 2) {
+			read(elements, accessor, consumer, 0, size);
+		} else {
+			int chunk = Math.max(PARALLEL_THRESHOLD, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+			ForkJoinPool.commonPool().invoke(new ReadAction(elements, accessor, consumer, 0, size, chunk));
+		}
+	}
+
+	private static void read(List<?> elements, PropertyAccessor accessor, IndexedConsumer consumer, int from, int to) {
+		for (int i = from; i < to; i++) {
+			consumer.accept(i, accessor.get(elements.get(i)));
+		}
+	}
+
+	private static Number toNumber(Object value, String propertyName) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof Number) {
+			return (Number) value;
+		}
+		throw new IllegalArgumentException("Property [" + propertyName + "] is not a number: " + value.getClass().getName());
+	}
+
+	/**
+	 * 转换为long，与BeanCopier一致不截断，数值超出[min, max]或有小数部分时抛出IllegalArgumentException
+	 */
+	private static long toLongExact(Object value, String propertyName, int index, long min, long max) {
+		Number number = toNumber(value, propertyName);
+		if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+			long result = number.longValue();
+			if (result >= min && result <= max) {
+				return result;
+			}
+		} else {
+			try {
+				BigDecimal decimal = number instanceof BigDecimal ? (BigDecimal) number
+						: number instanceof BigInteger ? new BigDecimal((BigInteger) number) : new BigDecimal(number.toString());
+				long result = decimal.longValueExact();
+				if (result >= min && result <= max) {
+					return result;
+				}
+			} catch (ArithmeticException | NumberFormatException e) {
+				// 有小数部分、超出long的范围或为NaN、Infinity，统一在下面抛出
+			}
+		}
+		throw new IllegalArgumentException("Property [" + propertyName + "] at index " + index + " can't be converted to "
+				+ (max == Integer.MAX_VALUE ? "int" : "long") + " exactly: " + number);
+	}
+
+	/**
+	 * 按下标处理属性值
+	 */
+	@FunctionalInterface
+	private interface IndexedConsumer {
+
+		void accept(int index, Object value);
+	}
+
+	/**
+	 * 按下标区间二分拆分的读取任务
+	 */
+	private static final class ReadAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<?> elements;
+
+		private final transient PropertyAccessor accessor;
+
+		private final transient IndexedConsumer consumer;
+
+		private final int from;
+
+		private final int to;
+
+		private final int chunk;
+
+		private ReadAction(List<?> elements, PropertyAccessor accessor, IndexedConsumer consumer, int from, int to,
+				int chunk) {
+			this.elements = elements;
+			this.accessor = accessor;
+			this.consumer = consumer;
+			this.from = from;
+			this.to = to;
+			this.chunk = chunk;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= chunk) {
+				read(elements, accessor, consumer, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ReadAction(elements, accessor, consumer, from, middle, chunk),
+					new ReadAction(elements, accessor, consumer, middle, to, chunk));
+		}
+	}
+}
@@ -4,6 +4,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.allen.tool.string.StringUtil;
 import org.slf4j.Logger;
@@ -17,46 +21,202 @@ import org.slf4j.LoggerFactory;
  */
 public class ReflectUtil {
 
-	private static final String SETTER_PREFIX = "set";
-
-	private static final String GETTER_PREFIX = "get";
-
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReflectUtil.class);
 
 	/**
-	 * 调用Getter方法，支持多级，如：对象名.对象名.方法
+	 * 调用Getter方法，支持多级，如：对象名.对象名.方法<br/>
+	 * 通过PropertyAccessor按(类型, 属性路径)缓存编译后的getter，重复调用时不再查找方法
 	 * 
 	 * @param obj          给定的对象
 	 * @param propertyName 属性名
 	 * @return 属性值
 	 */
 	public static Object invokeGetter(Object obj, String propertyName) {
-		Object object = obj;
-		for (String name : StringUtil.split(propertyName, ".")) {
-			String getterMethodName = GETTER_PREFIX + StringUtil.capitalize(name);
-			object = invokeMethod(object, getterMethodName, new Class[] {}, new Object[] {});
-		}
-		return object;
+		notNull(obj, "object can't be null");
+		return PropertyAccessor.of(obj.getClass(), propertyName).get(obj);
 	}
 
 	/**
-	 * 调用Setter方法，仅匹配方法名， 支持多级，如：对象名.对象名.方法
+	 * 调用Setter方法，仅匹配方法名及参数个数， 支持多级，如：对象名.对象名.方法<br/>
+	 * 通过PropertyAccessor按(类型, 属性路径)缓存编译后的getter及setter，重复调用时不再查找方法
 	 * 
 	 * @param obj          给定的对象
 	 * @param propertyName 属性名
 	 * @param value        属性值
 	 */
 	public static void invokeSetter(Object obj, String propertyName, Object value) {
-		Object object = obj;
-		String[] names = StringUtil.split(propertyName, ".");
-		for (int i = 0; i < names.length; i++) {
-			if (i < names.length - 1) {
-				String getterMethodName = GETTER_PREFIX + StringUtil.capitalize(names[i]);
-				object = invokeMethod(object, getterMethodName, new Class[] {}, new Object[] {});
-			} else {
-				String setterMethodName = SETTER_PREFIX + StringUtil.capitalize(names[i]);
-				invokeMethodByName(object, setterMethodName, new Object[] { value });
+		notNull(obj, "object can't be null");
+		PropertyAccessor.of(obj.getClass(), propertyName).set(obj, value);
+	}
+
+	/**
+	 * 批量读取对象列表中每个元素的属性值，支持多级属性，属性路径只解析一次
+	 * 
+	 * @param list         对象列表，元素不能为null
+	 * @param propertyName 属性名
+	 * @param type         属性类型
+	 * @return 属性值列表，长度固定，与对象列表一一对应
+	 */
+	public static <T> List<T> getColumn(List<?> list, String propertyName, Class<T> type) {
+		return getColumn(list, propertyName, type, false);
+	}
+
+	/**
+	 * 批量读取对象列表中每个元素的属性值，支持多级属性，属性路径只解析一次
+	 * 
+	 * @param list         对象列表，元素不能为null
+	 * @param propertyName 属性名
+	 * @param type         属性类型
+	 * @param parallel     是否使用ForkJoinPool并行读取，列表较短时忽略
+	 * @return 属性值列表，长度固定，与对象列表一一对应
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> getColumn(List<?> list, String propertyName, Class<T> type, boolean parallel) {
+		Object[] values = PropertyColumns.getValues(list, propertyName, parallel);
+		for (Object value : values) {
+			type.cast(value);
+		}
+		return (List<T>) Arrays.asList(values);
+	}
+
+	/**
+	 * 批量读取对象列表中每个元素的数值属性，支持多级属性，属性值为null时读取为0，
+	 * 属性值超出long的范围或有小数部分时抛出IllegalArgumentException，不截断
+	 * 
+	 * @param list         对象列表，元素不能为null
+	 * @param propertyName 属性名
+	 * @param parallel     是否使用ForkJoinPool并行读取，列表较短时忽略
+	 * @return 属性值数组
+	 */
+	public static long[] getLongColumn(List<?> list, String propertyName, boolean parallel) {
+		return PropertyColumns.getLongs(list, propertyName, parallel);
+	}
+
+	/**
+	 * 批量读取对象列表中每个元素的数值属性，支持多级属性，属性值为null时读取为0，
+	 * 属性值超出int的范围或有小数部分时抛出IllegalArgumentException，不截断
+	 * 
+	 * @param list         对象列表，元素不能为null
+	 * @param propertyName 属性名
+	 * @param parallel     是否使用ForkJoinPool并行读取，列表较短时忽略
+	 * @return 属性值数组
+	 */
+	public static int[] getIntColumn(List<?> list, String propertyName, boolean parallel) {
+		return PropertyColumns.getInts(list, propertyName, parallel);
+	}
+
+	/**
+	 * 批量读取对象列表中每个元素的数值属性，支持多级属性，属性值为null时读取为0
+	 * 
+	 * @param list         对象列表，元素不能为null
+	 * @param propertyName 属性名
+	 * @param parallel     是否使用ForkJoinPool并行读取，列表较短时忽略
+	 * @return 属性值数组
+	 */
+	public static double[] getDoubleColumn(List<?> list, String propertyName, boolean parallel) {
+		return PropertyColumns.getDoubles(list, propertyName, parallel);
+	}
+
+	/**
+	 * 将对象的所有可读属性转为Map，按JavaBeans规范识别属性(getX/isX)，key按属性名排序<br/>
+	 * 每个类的属性结构只解析一次，getter编译为函数，重复调用时不再查找方法
+	 *
+	 * @param obj 给定的对象
+	 * @return 属性名及属性值
+	 */
+	public static Map<String, Object> toMap(Object obj) {
+		notNull(obj, "object can't be null");
+		BeanSchema.BeanProperty[] properties = BeanSchema.of(obj.getClass()).getReadableProperties();
+		Map<String, Object> map = new LinkedHashMap<>(capacity(properties.length));
+		for (BeanSchema.BeanProperty property : properties) {
+			map.put(property.name, property.get(obj));
+		}
+		return map;
+	}
+
+	/**
+	 * 将对象的给定属性转为Map，支持多级属性，如：对象名.对象名.属性名，key为给定的属性名，顺序与参数一致
+	 *
+	 * @param obj           给定的对象
+	 * @param propertyNames 属性名
+	 * @return 属性名及属性值
+	 */
+	public static Map<String, Object> toMap(Object obj, String... propertyNames) {
+		notNull(obj, "object can't be null");
+		Map<String, Object> map = new LinkedHashMap<>(capacity(propertyNames.length));
+		for (String propertyName : propertyNames) {
+			map.put(propertyName, PropertyAccessor.of(obj.getClass(), propertyName).get(obj));
+		}
+		return map;
+	}
+
+	/**
+	 * 读取对象的所有可读属性值，不创建Map，适合只需要遍历属性的场景<br/>
+	 * 数组的顺序与getPropertyNames(obj.getClass())一致
+	 *
+	 * @param obj 给定的对象
+	 * @return 属性值数组
+	 */
+	public static Object[] toArray(Object obj) {
+		notNull(obj, "object can't be null");
+		BeanSchema.BeanProperty[] properties = BeanSchema.of(obj.getClass()).getReadableProperties();
+		Object[] values = new Object[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			values[i] = properties[i].get(obj);
+		}
+		return values;
+	}
+
+	/**
+	 * 给定类的所有可读属性名，按属性名排序，与toMap的key及toArray的顺序一致
+	 *
+	 * @param type 给定的类
+	 * @return 不可修改的属性名列表
+	 */
+	public static List<String> getPropertyNames(Class<?> type) {
+		notNull(type, "type can't be null");
+		return BeanSchema.of(type).getReadableNames();
+	}
+
+	/**
+	 * 使用给定类的无参构造方法创建对象，并将Map中的值设置到对应属性
+	 *
+	 * @param map  属性名及属性值，规则同fromMap(Map, Object)
+	 * @param type 给定的类
+	 * @return 新的对象
+	 */
+	public static <T> T fromMap(Map<String, ?> map, Class<T> type) {
+		notNull(type, "type can't be null");
+		T target = type.cast(BeanSchema.of(type).newInstance());
+		fromMap(map, target);
+		return target;
+	}
+
+	/**
+	 * 将Map中的值通过setter设置到对象的对应属性<br/>
+	 * 不含.的key没有对应的setter时忽略，值为null且属性为基本类型时保留原值；
+	 * key包含.时按多级属性处理，规则同invokeSetter，中间级属性不能为null；
+	 * 值的类型与属性类型不一致时抛出IllegalArgumentException，不做类型转换
+	 *
+	 * @param map    属性名及属性值
+	 * @param target 目标对象
+	 */
+	public static void fromMap(Map<String, ?> map, Object target) {
+		notNull(map, "map can't be null");
+		notNull(target, "object can't be null");
+		BeanSchema schema = BeanSchema.of(target.getClass());
+		for (Map.Entry<String, ?> entry : map.entrySet()) {
+			String propertyName = entry.getKey();
+			Object value = entry.getValue();
+			if (propertyName.indexOf('.') >= 0) {
+				PropertyAccessor.of(target.getClass(), propertyName).set(target, value);
+				continue;
 			}
+			BeanSchema.BeanProperty property = schema.getProperty(propertyName);
+			if (property == null || property.setter == null || (value == null && property.primitiveWrite)) {
+				continue;
+			}
+			property.set(target, value);
 		}
 	}
 
@@ -159,18 +319,7 @@ public class ReflectUtil {
 	public static Field getAccessibleField(final Object obj, final String fieldName) {
 		notNull(obj, "object can't be null");
 		notBlank(fieldName, "fieldName can't be blank");
-		for (Class<?> superClass = obj.getClass(); superClass != Object.class; superClass = superClass
-				.getSuperclass()) {
-			try {
-				Field field = superClass.getDeclaredField(fieldName);
-				makeAccessible(field);
-				return field;
-			} catch (NoSuchFieldException e) {
-				// Field不在当前类定义,继续向上转型
-				continue;
-			}
-		}
-		return null;
+		return ClassMetadata.of(obj.getClass()).getField(fieldName);
 	}
 
 	/**
@@ -187,19 +336,7 @@ public class ReflectUtil {
 			final Class<?>... parameterTypes) {
 		notNull(obj, "object can't be null");
 		notBlank(methodName, "methodName can't be blank");
-
-		for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType
-				.getSuperclass()) {
-			try {
-				Method method = searchType.getDeclaredMethod(methodName, parameterTypes);
-				makeAccessible(method);
-				return method;
-			} catch (NoSuchMethodException e) {
-				// Method不在当前类定义,继续向上转型
-				continue;
-			}
-		}
-		return null;
+		return ClassMetadata.of(obj.getClass()).getMethod(methodName, parameterTypes);
 	}
 
 	/**
@@ -214,17 +351,7 @@ public class ReflectUtil {
 	public static Method getAccessibleMethodByName(final Object obj, final String methodName) {
 		notNull(obj, "object can't be null");
 		notBlank(methodName, "methodName can't be blank");
-		for (Class<?> searchType = obj.getClass(); searchType != Object.class; searchType = searchType
-				.getSuperclass()) {
-			Method[] methods = searchType.getDeclaredMethods();
-			for (Method method : methods) {
-				if (method.getName().equals(methodName)) {
-					makeAccessible(method);
-					return method;
-				}
-			}
-		}
-		return null;
+		return ClassMetadata.of(obj.getClass()).getMethodByName(methodName);
 	}
 
 	/**
@@ -269,6 +396,13 @@ public class ReflectUtil {
 		return new RuntimeException("Unexpected Checked Exception.", e);
 	}
 
+	/**
+	 * 容纳给定个数元素且不扩容的HashMap初始容量
+	 */
+	private static int capacity(int size) {
+		return size < 3 ? size + 1 : (int) (size / 0.75F + 1.0F);
+	}
+
 	/**
 	 * 校验给定的对象不能为空，如果为空则抛出空指针异常
 	 * 
@@ -11,6 +11,11 @@ import java.util.regex.Pattern;
  */
 public class StringUtil {
 
+	/**
+	 * 正则表达式的元字符，单个字符的分隔符是其中之一时需要转义
+	 */
+	private static final String REGEX_META_CHARS = ".$|()[{^?*+\\";
+
 	/**
 	 * 私有构造方法，禁止实例化
 	 * 
@@ -114,7 +119,8 @@ public class StringUtil {
 	}
 
 	/**
-	 * 根据分割符拆分给定的字符串，如果给定的字符串不包含给定的分隔符，则将给定的字符串作为数组的唯一元素返回
+	 * 根据分割符拆分给定的字符串，如果给定的字符串不包含给定的分隔符，则将给定的字符串作为数组的唯一元素返回<br/>
+	 * 分隔符按字面匹配，不作为正则表达式
 	 *
 	 * @param str       给定的字符串
 	 * @param separator 分隔符
@@ -130,9 +136,12 @@ public class StringUtil {
 		if (isEmpty(separator) || !str.contains(separator)) {
 			return new String[] { str };
 		}
-		String realSeparator = separator;
-		if (".".equals(separator) || "+".equals(separator) || "*".equals(separator) || "|".equals(separator)) {
-			realSeparator = "\\\\" + realSeparator;
+		String realSeparator;
+		if (separator.length() == 1) {
+			// 单个字符转义后仍走String.split的快速路径，不编译正则表达式
+			realSeparator = REGEX_META_CHARS.indexOf(separator.charAt(0)) < 0 ? separator : "\\" + separator;
+		} else {
+			realSeparator = Pattern.quote(separator);
 		}
 		return str.split(realSeparator);
 	}